@@ -0,0 +1,89 @@
+package com.example.ae;
+
+import java.util.ArrayList;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.ExecutionException;
+import java.util.concurrent.ForkJoinPool;
+import java.util.concurrent.Future;
+import java.util.function.Consumer;
+import java.util.function.Function;
+
+import com.example.ae.algorithm.ThreadLocalRandomGenerator;
+
+// ejecuta una lista de trabajos independientes (p. ej. corridas de NSGA-II) en un ForkJoinPool y entrega los
+// resultados al sink en el orden de la lista. Cada trabajo fija la semilla de JMetalRandom de su hilo en
+// baseSeed + indice, asi el resultado de cada uno no depende de la cantidad de hilos ni del orden en que
+// terminan. Los trabajos no deben usar otros hilos con aleatoriedad (p. ej. usar el evaluador secuencial)
+public class TasExperimentRunner {
+
+    private final int threads;
+    private final long baseSeed;
+
+    public TasExperimentRunner(int threads, long baseSeed) {
+        if (threads <= 0) {
+            throw new IllegalArgumentException("Number of threads must be positive: " + threads);
+        }
+        this.threads = threads;
+        this.baseSeed = baseSeed;
+    }
+
+    public long seedFor(int jobIndex) {
+        return baseSeed + jobIndex;
+    }
+
+    // el sink se llama desde los hilos del pool pero de a uno por vez y en orden
+    public <J, R> void run(List<J> jobs, Function<J, R> task, Consumer<R> sink) {
+        ThreadLocalRandomGenerator generator = ThreadLocalRandomGenerator.install(baseSeed);
+        OrderedSink<R> ordered = new OrderedSink<>(sink);
+
+        ForkJoinPool pool = new ForkJoinPool(threads);
+        try {
+            List<Future<?>> pending = new ArrayList<>(jobs.size());
+            for (int i = 0; i < jobs.size(); i++) {
+                int index = i;
+                J job = jobs.get(i);
+                pending.add(pool.submit(() -> {
+                    generator.setSeed(seedFor(index));
+                    ordered.offer(index, task.apply(job));
+                }));
+            }
+            await(pending);
+        } finally {
+            pool.shutdown();
+        }
+    }
+
+    private static void await(List<Future<?>> pending) {
+        try {
+            for (Future<?> future : pending) {
+                future.get();
+            }
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+            throw new IllegalStateException("Experiment interrupted", e);
+        } catch (ExecutionException e) {
+            throw new IllegalStateException("Experiment job failed", e.getCause());
+        }
+    }
+
+    // guarda los resultados que llegan antes de tiempo y los libera cuando ya salieron todos los anteriores
+    private static final class OrderedSink<R> {
+        private final Consumer<R> sink;
+        private final Map<Integer, R> waiting = new HashMap<>();
+        private int next = 0;
+
+        OrderedSink(Consumer<R> sink) {
+            this.sink = sink;
+        }
+
+        synchronized void offer(int index, R result) {
+            waiting.put(index, result);
+            while (waiting.containsKey(next)) {
+                sink.accept(waiting.remove(next));
+                next++;
+            }
+        }
+    }
+}
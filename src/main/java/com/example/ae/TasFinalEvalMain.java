@@ -1,28 +1,43 @@
 package com.example.ae;
 
 import org.uma.jmetal.algorithm.Algorithm;
-import org.uma.jmetal.algorithm.multiobjective.nsgaii.NSGAIIBuilder;
 import org.uma.jmetal.operator.crossover.CrossoverOperator;
-import org.uma.jmetal.operator.crossover.impl.PMXCrossover;
 import org.uma.jmetal.operator.mutation.MutationOperator;
-import org.uma.jmetal.operator.mutation.impl.PermutationSwapMutation;
 import org.uma.jmetal.operator.selection.SelectionOperator;
 import org.uma.jmetal.operator.selection.impl.BinaryTournamentSelection;
 import org.uma.jmetal.solution.permutationsolution.PermutationSolution;
 import org.uma.jmetal.util.comparator.dominanceComparator.impl.DefaultDominanceComparator;
-
+import org.uma.jmetal.util.evaluator.SolutionListEvaluator;
+
+import com.example.ae.algorithm.EpsilonArchive;
+import com.example.ae.algorithm.FrontListener;
+import com.example.ae.algorithm.FrontUnchanged;
+import com.example.ae.algorithm.HypervolumeStagnation;
+import com.example.ae.algorithm.MakespanLowerBound;
+import com.example.ae.algorithm.ParallelSolutionListEvaluator;
+import com.example.ae.algorithm.TasLocalSearch;
+import com.example.ae.algorithm.TasNSGAIIBuilder;
+import com.example.ae.decoder.DominanceBound;
+import com.example.ae.decoder.PrefixCheckpointDecoder;
 import com.example.ae.decoder.TasSchedule;
 import com.example.ae.io.TasInstanceLoader;
+import com.example.ae.metrics.FrontMetrics;
+import com.example.ae.metrics.Hypervolume2D;
 import com.example.ae.model.TasInstance;
+import com.example.ae.operator.TasPMXCrossover;
+import com.example.ae.operator.TasPrecedencePreservingCrossover;
+import com.example.ae.operator.TasPrecedenceShiftMutation;
+import com.example.ae.operator.TasSwapMutation;
+import com.example.ae.problem.EvaluationCache;
 import com.example.ae.problem.TasProblem;
 
-import org.uma.jmetal.problem.Problem;
 
 import java.io.BufferedWriter;
 import java.io.IOException;
 import java.io.PrintWriter;
 import java.nio.charset.StandardCharsets;
 import java.nio.file.*;
+import java.util.ArrayList;
 import java.util.List;
 import java.util.Locale;
 
@@ -30,6 +45,89 @@ public class TasFinalEvalMain {
 
     private static final int NUM_RUNS = 30;   // cantidad de ejecuciones por instancia y algoritmo
 
+    // checkpoints de prefijo del decodificador (los hijos retoman el decode de su padre). Los checkpoints son
+    // por hilo y con el evaluador paralelo el hijo pocas veces cae en el hilo del padre: retoma ~2-40% de los
+    // decodes y se saltea ~2-14% de las posiciones, sin ganarle a la copia del estado. 0 = sin checkpoints
+    private static final int CHECKPOINT_INTERVAL = 0;
+    private static final int CHECKPOINT_CAPACITY = 4096;
+
+    // cache de evaluaciones por permutacion (clave canonica = orden de planificacion)
+    private static final int EVALUATION_CACHE_CAPACITY = 65536;
+
+    // evaluacion paralela de la poblacion (un hilo por procesador, bloques de EVAL_BATCH_SIZE soluciones)
+    private static final int EVAL_THREADS = Runtime.getRuntime().availableProcessors();
+    private static final int EVAL_BATCH_SIZE = 8;
+
+    // modelo de islas: con NUM_ISLANDS > 1 cada isla corre en su hilo y migra MIGRANTS soluciones
+    // no dominadas a la siguiente cada MIGRATION_INTERVAL generaciones (1 = NSGA-II comun)
+    private static final int NUM_ISLANDS = 1;
+    private static final int MIGRATION_INTERVAL = 10;
+    private static final int MIGRANTS = 2;
+
+    // NSGA-II asincronico de estado estacionario con ASYNC_THREADS hilos (0 = generacional)
+    private static final int ASYNC_THREADS = 0;
+
+    // operadores que respetan las precedencias (PPX + desplazamiento dentro de la ventana factible) y
+    // poblacion inicial en orden topologico; con false se usan PMX + swap sobre permutaciones uniformes,
+    // la configuracion ajustada. Es opcional: cambia lo que se mide respecto de las corridas publicadas
+    private static final boolean PRECEDENCE_OPERATORS = false;
+
+    // modo memetico: probabilidad de aplicar busqueda local a cada solucion evaluada (0 = desactivado),
+    // movimientos por llamada y cada cuantas posiciones se guarda el estado para la evaluacion incremental
+    private static final double LOCAL_SEARCH_RATE = 0.0;
+    private static final int LOCAL_SEARCH_MOVES = 20;
+    private static final int LOCAL_SEARCH_CHECKPOINT_INTERVAL = 4;
+
+    // parada por convergencia (maxEvaluations queda como tope): estancamiento del hipervolumen durante
+    // HV_WINDOW generaciones, frente sin cambios durante FRONT_UNCHANGED_GENERATIONS, o makespan en su cota inferior
+    // con el frente sin cambios durante LOWER_BOUND_STABLE_GENERATIONS
+    private static final int HV_WINDOW = 20;
+    private static final double HV_TOLERANCE = 1e-4;
+    private static final int FRONT_UNCHANGED_GENERATIONS = 30;
+    private static final int LOWER_BOUND_STABLE_GENERATIONS = 10;  // frente estable con el makespan en la cota
+
+    // reemplazo con ranking no dominado O(N log N) especifico para dos objetivos
+    private static final boolean BI_OBJECTIVE_RANKING = true;
+
+    // limite de tiempo por ejecucion en ms (0 = sin limite); al vencer se devuelve el frente actual
+    private static final long TIME_BUDGET_MILLIS = 0;
+
+    // fraccion de la poblacion inicial que sale de reglas de prioridad (greedy, LPT, sucesores, camino critico);
+    // 0 = poblacion inicial aleatoria como en las corridas publicadas (sembrar con el greedy cambia lo que se mide)
+    private static final double WARM_START_FRACTION = 0.0;
+
+    // hipervolumen por ejecucion y por generacion: punto de referencia fijo por instancia, el peor valor de
+    // HV_REFERENCE_SAMPLES soluciones aleatorias mas HV_REFERENCE_EPS (mismo margen que hv_and_stats.py)
+    private static final int HV_REFERENCE_SAMPLES = 1000;
+    private static final double HV_REFERENCE_EPS = 1.0;
+
+    // archivo externo con cajas epsilon por objetivo alimentado con todas las evaluaciones; si se activa, el CSV
+    // guarda su contenido en lugar del frente de la ultima poblacion (sin vectores repetidos). 0 = sin archivo,
+    // como en las corridas publicadas (con archivo las filas no son comparables con ellas)
+    private static final int ARCHIVE_CAPACITY = 0;
+    private static final double ARCHIVE_EPSILON_MAKESPAN = 1.0;
+    private static final double ARCHIVE_EPSILON_DISSATISFACTION = 1.0;
+
+    // corte temprano del decode: en cada generacion el frente actual pasa a ser la cota y los hijos que ya
+    // quedan dominados a mitad del decode se cortan (reciben TasProblem.EARLY_ABORT_PENALTY en ambos objetivos)
+    private static final boolean EARLY_ABORT = false;
+
+    // frente reportado por una corrida de NSGA-II; IGD y spread se calculan cuando terminan todas las
+    // corridas de la instancia, contra la union no dominada de sus frentes
+    private static final class RunFront {
+        final int run;
+        final List<double[]> front;
+        final double hypervolume;
+        final double accumulatedHypervolume;
+
+        RunFront(int run, List<double[]> front, double hypervolume, double accumulatedHypervolume) {
+            this.run = run;
+            this.front = front;
+            this.hypervolume = hypervolume;
+            this.accumulatedHypervolume = accumulatedHypervolume;
+        }
+    }
+
     public static void main(String[] args) {
 
         // instancias
@@ -43,10 +141,15 @@ public class TasFinalEvalMain {
         final int    populationSize   = 120;
         final double crossoverProb    = 1.0;
         final double mutationProb     = 0.10;
-        final int    maxEvaluations   = 10000;
+        final int    maxEvaluations   = 10000;  // tope; los criterios de convergencia suelen cortar antes
 
         // CSV de salida
         Path outputPath = Paths.get("results", "tas_final_eval_runs.csv");
+        Path hvOutputPath = Paths.get("results", "tas_final_eval_hv.csv");
+        Path metricsOutputPath = Paths.get("results", "tas_final_eval_metrics.csv");
+
+        SolutionListEvaluator<PermutationSolution<Integer>> evaluator =
+                new ParallelSolutionListEvaluator<>(EVAL_THREADS, EVAL_BATCH_SIZE);
 
         try {
             if (outputPath.getParent() != null) {
@@ -54,17 +157,37 @@ public class TasFinalEvalMain {
             }
 
             boolean writeHeader = Files.notExists(outputPath);
+            boolean writeHvHeader = Files.notExists(hvOutputPath);
+            boolean writeMetricsHeader = Files.notExists(metricsOutputPath);
 
             try (BufferedWriter bw = Files.newBufferedWriter(
                         outputPath,
                         StandardCharsets.UTF_8,
                         StandardOpenOption.CREATE,
                         StandardOpenOption.APPEND);
-                 PrintWriter pw = new PrintWriter(bw)) {
+                 PrintWriter pw = new PrintWriter(bw);
+                 BufferedWriter hvBw = Files.newBufferedWriter(
+                        hvOutputPath,
+                        StandardCharsets.UTF_8,
+                        StandardOpenOption.CREATE,
+                        StandardOpenOption.APPEND);
+                 PrintWriter hvPw = new PrintWriter(hvBw);
+                 BufferedWriter metricsBw = Files.newBufferedWriter(
+                        metricsOutputPath,
+                        StandardCharsets.UTF_8,
+                        StandardOpenOption.CREATE,
+                        StandardOpenOption.APPEND);
+                 PrintWriter metricsPw = new PrintWriter(metricsBw)) {
 
                 if (writeHeader) {
                     pw.println("instance,algorithm,populationSize,crossoverProb,mutationProb,run,solutionIndex,f1_makespan,f2_dissatisfaction,timeMillis");
                 }
+                if (writeHvHeader) {
+                    hvPw.println("instance,run,evaluations,hypervolume,refMakespan,refDissatisfaction");
+                }
+                if (writeMetricsHeader) {
+                    metricsPw.println("instance,run,hypervolume,accumulatedHypervolume,igd,spread,referenceFrontSize");
+                }
 
                 // recorrer todas las instancias
                 for (String instanceFile : instanceFiles) {
@@ -81,37 +204,135 @@ public class TasFinalEvalMain {
 
                     String instanceName = Paths.get(instanceFile).getFileName().toString();
 
-                    // problema multiobjetivo TAS para NSGA-II
-                    Problem<PermutationSolution<Integer>> problem = new TasProblem(instance);
+                    // punto de referencia del hipervolumen con un problema aparte, sin cache ni checkpoints
+                    TasProblem referenceProblem = new TasProblem(instance);
+                    referenceProblem.setTopologicalInitialization(PRECEDENCE_OPERATORS);
+                    double[] hvReference = FrontMetrics.referencePoint(referenceProblem, HV_REFERENCE_SAMPLES, HV_REFERENCE_EPS);
+
+                    // la busqueda local no guarda estado entre llamadas; se comparte para sumar sus estadisticas
+                    TasLocalSearch localSearch = new TasLocalSearch(
+                            referenceProblem.getCompiledInstance(), LOCAL_SEARCH_MOVES, LOCAL_SEARCH_CHECKPOINT_INTERVAL);
+
+                    // estadisticas de cache y corte temprano sumadas sobre las corridas
+                    long cacheHits = 0;
+                    long cacheMisses = 0;
+                    long earlyAborts = 0;
+                    long checkpointDecodes = 0;
+                    long resumedDecodes = 0;
+                    long skippedPositions = 0;
+
+                    // union no dominada de los frentes reportados (frente de referencia de IGD y spread)
+                    Hypervolume2D referenceFront = new Hypervolume2D(hvReference[0], hvReference[1]);
+                    List<RunFront> runFronts = new ArrayList<>(NUM_RUNS);
 
                     // algoritmo 1: NSGA-II
                     for (int run = 0; run < NUM_RUNS; run++) {
 
-                        CrossoverOperator<PermutationSolution<Integer>> crossover =
-                                new PMXCrossover(crossoverProb);
+                        // problema nuevo en cada corrida: la cache de evaluaciones y los checkpoints de prefijo
+                        // no pasan de una corrida a la otra, asi las corridas son independientes y timeMillis comparable
+                        TasProblem problem = new TasProblem(instance);
+                        if (CHECKPOINT_INTERVAL > 0) {
+                            problem.enablePrefixCheckpointing(CHECKPOINT_INTERVAL, CHECKPOINT_CAPACITY);
+                        }
+                        problem.enableEvaluationCache(EVALUATION_CACHE_CAPACITY, true);
+                        problem.setTopologicalInitialization(PRECEDENCE_OPERATORS);
+
+                        TasPopulationInitializer initializer =
+                                new TasPopulationInitializer(problem, WARM_START_FRACTION);
 
-                        MutationOperator<PermutationSolution<Integer>> mutation =
-                                new PermutationSwapMutation(mutationProb);
+                        CrossoverOperator<PermutationSolution<Integer>> crossover = PRECEDENCE_OPERATORS
+                                ? new TasPrecedencePreservingCrossover(crossoverProb, problem.getCompiledInstance())
+                                : new TasPMXCrossover(crossoverProb);
+
+                        MutationOperator<PermutationSolution<Integer>> mutation = PRECEDENCE_OPERATORS
+                                ? new TasPrecedenceShiftMutation(mutationProb, problem.getCompiledInstance())
+                                : new TasSwapMutation(mutationProb);
 
                         SelectionOperator<List<PermutationSolution<Integer>>, PermutationSolution<Integer>> selection =
                                 new BinaryTournamentSelection<>(new DefaultDominanceComparator<>());
 
-                        Algorithm<List<PermutationSolution<Integer>>> algorithm =
-                                new NSGAIIBuilder<>(problem, crossover, mutation, populationSize)
+                        // hipervolumen del frente actual en cada generacion; ademas se acumulan los frentes de
+                        // todas las generaciones (lo que guardaria un archivo sin limite de capacidad). Con islas el
+                        // listener se llama desde varios hilos
+                        final int currentRun = run;
+                        Hypervolume2D accumulated = new Hypervolume2D(hvReference[0], hvReference[1]);
+                        FrontListener<PermutationSolution<Integer>> hvTrace = (front, evaluations) -> {
+                            synchronized (accumulated) {
+                                for (PermutationSolution<Integer> sol : front) {
+                                    accumulated.add(sol.objectives()[0], sol.objectives()[1]);
+                                }
+                            }
+                            hvPw.printf(
+                                    Locale.US,
+                                    "%s,%d,%d,%.4f,%.4f,%.4f%n",
+                                    instanceName,
+                                    currentRun,
+                                    evaluations,
+                                    Hypervolume2D.of(front, hvReference[0], hvReference[1]),
+                                    hvReference[0],
+                                    hvReference[1]
+                            );
+                        };
+
+                        EpsilonArchive<PermutationSolution<Integer>> archive = (ARCHIVE_CAPACITY > 0)
+                                ? new EpsilonArchive<>(ARCHIVE_EPSILON_MAKESPAN, ARCHIVE_EPSILON_DISSATISFACTION, ARCHIVE_CAPACITY)
+                                : null;
+
+                        // cota de dominancia del decode: se arranca sin cota y se actualiza con cada frente
+                        FrontListener<PermutationSolution<Integer>> boundUpdater = (front, evaluations) -> {
+                            List<double[]> points = new ArrayList<>(front.size());
+                            for (PermutationSolution<Integer> sol : front) {
+                                if (!TasProblem.isEarlyAborted(sol)) {
+                                    points.add(sol.objectives().clone());
+                                }
+                            }
+                            problem.setDominanceBound(DominanceBound.of(points));
+                        };
+
+                        TasNSGAIIBuilder<PermutationSolution<Integer>> builder =
+                                new TasNSGAIIBuilder<>(problem, crossover, mutation, populationSize)
                                         .setSelectionOperator(selection)
                                         .setMaxEvaluations(maxEvaluations)
-                                        .build();
+                                        .setSolutionListEvaluator(evaluator)
+                                        .setIslands(NUM_ISLANDS, MIGRATION_INTERVAL, MIGRANTS)
+                                        .setAsynchronous(ASYNC_THREADS)
+                                        .setLocalSearch(localSearch, LOCAL_SEARCH_RATE)
+                                        .addTerminationCriterion(() -> new HypervolumeStagnation<>(HV_WINDOW, HV_TOLERANCE))
+                                        .addTerminationCriterion(() -> new FrontUnchanged<>(FRONT_UNCHANGED_GENERATIONS))
+                                        .addTerminationCriterion(() -> new MakespanLowerBound<>(problem.getCompiledInstance(), LOWER_BOUND_STABLE_GENERATIONS))
+                                        .setBiObjectiveRanking(BI_OBJECTIVE_RANKING)
+                                        .setTimeBudget(TIME_BUDGET_MILLIS)
+                                        .setInitialSolutions(initializer.seeds(populationSize))
+                                        .addFrontListener(hvTrace)
+                                        .setArchive(archive)
+                                        .setSeed(run);
+                        if (EARLY_ABORT) {
+                            builder.addFrontListener(boundUpdater);
+                        }
+                        Algorithm<List<PermutationSolution<Integer>>> algorithm = builder.build();
 
                         long startTime = System.currentTimeMillis();
                         algorithm.run();
                         long endTime   = System.currentTimeMillis();
                         long timeMillis = endTime - startTime;
 
-                        List<PermutationSolution<Integer>> result = algorithm.result();
+                        List<PermutationSolution<Integer>> result =
+                                (archive != null) ? archive.solutions() : algorithm.result();
+                        result.removeIf(TasProblem::isEarlyAborted);
+
+                        // frente de la corrida sin vectores repetidos ni dominados (si no el spread ve distancias 0)
+                        Hypervolume2D resultFront = new Hypervolume2D(hvReference[0], hvReference[1]);
+                        for (PermutationSolution<Integer> sol : result) {
+                            resultFront.add(sol.objectives()[0], sol.objectives()[1]);
+                            referenceFront.add(sol.objectives()[0], sol.objectives()[1]);
+                        }
+                        double hv = resultFront.hypervolume();
+                        runFronts.add(new RunFront(run, resultFront.points(), hv, accumulated.hypervolume()));
 
                         System.out.printf(
-                                "[NSGAII] inst=%s run=%d tiempo=%d ms soluciones=%d%n",
-                                instanceName, run, timeMillis, result.size()
+                                Locale.US,
+                                "[NSGAII] inst=%s run=%d tiempo=%d ms soluciones=%d hv=%.4f%n",
+                                instanceName, run, timeMillis, result.size(), hv
                         );
 
                         int solIndex = 0;
@@ -136,6 +357,68 @@ public class TasFinalEvalMain {
                             solIndex++;
                         }
                         pw.flush();
+                        hvPw.flush();
+
+                        EvaluationCache cache = problem.getEvaluationCache();
+                        cacheHits += cache.hits();
+                        cacheMisses += cache.misses();
+                        earlyAborts += problem.earlyAborts();
+                        PrefixCheckpointDecoder prefixDecoder = problem.getPrefixDecoder();
+                        if (prefixDecoder != null) {
+                            checkpointDecodes += prefixDecoder.decodes();
+                            resumedDecodes += prefixDecoder.resumedDecodes();
+                            skippedPositions += prefixDecoder.skippedPositions();
+                        }
+                    }
+
+                    // IGD y spread de cada corrida contra la union de todas (puntos fuera del punto de referencia
+                    // del hipervolumen no entran a la union)
+                    List<double[]> referencePoints = referenceFront.points();
+                    for (RunFront runFront : runFronts) {
+                        metricsPw.printf(
+                                Locale.US,
+                                "%s,%d,%.4f,%.4f,%.6f,%.6f,%d%n",
+                                instanceName,
+                                runFront.run,
+                                runFront.hypervolume,
+                                runFront.accumulatedHypervolume,
+                                FrontMetrics.igd(runFront.front, referencePoints),
+                                FrontMetrics.spread(runFront.front, referencePoints),
+                                referencePoints.size()
+                        );
+                    }
+                    metricsPw.flush();
+
+                    long lookups = cacheHits + cacheMisses;
+                    System.out.printf(
+                            Locale.US,
+                            "[NSGAII] inst=%s cache: hits=%d misses=%d (%.1f%%)%n",
+                            instanceName, cacheHits, cacheMisses, (lookups == 0) ? 0.0 : 100.0 * cacheHits / lookups
+                    );
+                    if (CHECKPOINT_INTERVAL > 0) {
+                        long decodedPositions = checkpointDecodes * instance.numberOfTasks();
+                        System.out.printf(
+                                Locale.US,
+                                "[NSGAII] inst=%s checkpoints: decodes=%d retomados=%d (%.1f%%) posiciones salteadas=%d (%.1f%%)%n",
+                                instanceName, checkpointDecodes, resumedDecodes,
+                                (checkpointDecodes == 0) ? 0.0 : 100.0 * resumedDecodes / checkpointDecodes,
+                                skippedPositions,
+                                (decodedPositions == 0) ? 0.0 : 100.0 * skippedPositions / decodedPositions
+                        );
+                    }
+                    if (EARLY_ABORT) {
+                        System.out.printf(
+                                "[NSGAII] inst=%s decodes cortados por dominancia=%d%n",
+                                instanceName, earlyAborts
+                        );
+                    }
+                    if (LOCAL_SEARCH_RATE > 0.0) {
+                        System.out.printf(
+                                Locale.US,
+                                "[NSGAII] inst=%s busqueda local: decodificaciones=%d vecinos=%d mejoras=%d%n",
+                                instanceName, localSearch.fullDecodes(), localSearch.moveEvaluations(),
+                                localSearch.improvements()
+                        );
                     }
 
                     // algoritmo 2: GREEDY (baseline)
@@ -176,9 +459,12 @@ public class TasFinalEvalMain {
             }
 
             System.out.println("Resultados de evaluacion final guardados en: " + outputPath.toAbsolutePath());
+            System.out.println("Metricas por ejecucion (HV, IGD, spread) guardadas en: " + metricsOutputPath.toAbsolutePath());
 
         } catch (IOException e) {
             e.printStackTrace();
+        } finally {
+            evaluator.shutdown();
         }
     }
 }
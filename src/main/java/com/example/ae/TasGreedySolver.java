@@ -17,6 +17,14 @@ public class TasGreedySolver {
     //  - usa ese orden como permutacion
     //  - llama al mismo decodificador que el NSGA-II
     public static TasSchedule solve(TasInstance instance) {
+        int[] pi = greedyOrder(instance);
+
+        // usar el mismo decodificador que el NSGA-II
+        return TasDecoder.decode(pi, instance);
+    }
+
+    // permutacion del greedy (indices de tarea); tambien sirve como semilla de la poblacion inicial
+    public static int[] greedyOrder(TasInstance instance) {
         List<Task> tasks = instance.tasks();
         int n = tasks.size();
 
@@ -47,8 +55,6 @@ public class TasGreedySolver {
         for (int i = 0; i < n; i++) {
             pi[i] = order.get(i);
         }
-
-        // usar el mismo decodificador que el NSGA-II
-        return TasDecoder.decode(pi, instance);
+        return pi;
     }
 }
@@ -1,24 +1,30 @@
 package com.example.ae;
 
+import com.example.ae.algorithm.FrontUnchanged;
+import com.example.ae.algorithm.HypervolumeStagnation;
+import com.example.ae.algorithm.MakespanLowerBound;
+import com.example.ae.algorithm.TasNSGAII;
+import com.example.ae.algorithm.TasNSGAIIBuilder;
+import com.example.ae.algorithm.ThreadLocalRandomGenerator;
 import com.example.ae.decoder.TasDecoder;
 import com.example.ae.decoder.TasSchedule;
 import com.example.ae.io.TasInstanceLoader;
+import com.example.ae.metrics.FrontMetrics;
+import com.example.ae.metrics.Hypervolume2D;
 import com.example.ae.visual.TasSchedulePlotter;
 import com.example.ae.model.Employee;
 import com.example.ae.model.TasInstance;
+import com.example.ae.operator.TasPMXCrossover;
+import com.example.ae.operator.TasSwapMutation;
 import com.example.ae.model.Task;
 import com.example.ae.problem.TasProblem;
-import org.uma.jmetal.algorithm.Algorithm;
-import org.uma.jmetal.algorithm.multiobjective.nsgaii.NSGAIIBuilder;
 import org.uma.jmetal.operator.crossover.CrossoverOperator;
-import org.uma.jmetal.operator.crossover.impl.PMXCrossover;
 import org.uma.jmetal.operator.mutation.MutationOperator;
-import org.uma.jmetal.operator.mutation.impl.PermutationSwapMutation;
 import org.uma.jmetal.operator.selection.SelectionOperator;
 import org.uma.jmetal.operator.selection.impl.BinaryTournamentSelection;
-import org.uma.jmetal.problem.Problem;
 import org.uma.jmetal.solution.permutationsolution.PermutationSolution;
 import org.uma.jmetal.util.comparator.dominanceComparator.impl.DefaultDominanceComparator;
+import org.uma.jmetal.util.evaluator.impl.SequentialSolutionListEvaluator;
 
 import java.io.IOException;
 import java.nio.file.Paths;
@@ -40,6 +46,66 @@ public class TasParamTuningMain {
 
     private static final int NUM_RUNS = 30;  // cantidad de ejecuciones por configuracion
 
+    // las corridas se reparten entre TUNING_THREADS hilos (cada una con el evaluador secuencial). La corrida i
+    // de la lista usa la semilla BASE_SEED + i, asi el CSV sale igual con cualquier cantidad de hilos
+    // (salvo la columna timeMillis, que es tiempo de reloj)
+    private static final int TUNING_THREADS = Runtime.getRuntime().availableProcessors();
+    private static final long BASE_SEED = 1L;
+
+    // parada por convergencia (maxEvaluations queda como tope): estancamiento del hipervolumen durante
+    // HV_WINDOW generaciones, frente sin cambios durante FRONT_UNCHANGED_GENERATIONS, o makespan en su cota inferior
+    // con el frente sin cambios durante LOWER_BOUND_STABLE_GENERATIONS
+    private static final int HV_WINDOW = 20;
+    private static final double HV_TOLERANCE = 1e-4;
+    private static final int FRONT_UNCHANGED_GENERATIONS = 30;
+    private static final int LOWER_BOUND_STABLE_GENERATIONS = 10;  // frente estable con el makespan en la cota
+
+    // reemplazo con ranking no dominado O(N log N) especifico para dos objetivos
+    private static final boolean BI_OBJECTIVE_RANKING = true;
+
+    // hipervolumen de cada ejecucion con un punto de referencia fijo por instancia (ver TasFinalEvalMain)
+    private static final int HV_REFERENCE_SAMPLES = 1000;
+    private static final double HV_REFERENCE_EPS = 1.0;
+
+    // una corrida: instancia, combinacion de parametros y numero de ejecucion
+    private static final class TuningJob {
+        final String instanceName;
+        final TasProblem problem;
+        final double[] hvReference;
+        final int populationSize;
+        final double crossoverProbability;
+        final double mutationProbability;
+        final int run;
+
+        TuningJob(String instanceName, TasProblem problem, double[] hvReference, int populationSize,
+                  double crossoverProbability, double mutationProbability, int run) {
+            this.instanceName = instanceName;
+            this.problem = problem;
+            this.hvReference = hvReference;
+            this.populationSize = populationSize;
+            this.crossoverProbability = crossoverProbability;
+            this.mutationProbability = mutationProbability;
+            this.run = run;
+        }
+    }
+
+    private static final class TuningResult {
+        final TuningJob job;
+        final List<PermutationSolution<Integer>> front;
+        final long timeMillis;
+        final int evaluations;
+        final double hypervolume;
+
+        TuningResult(TuningJob job, List<PermutationSolution<Integer>> front, long timeMillis,
+                     int evaluations, double hypervolume) {
+            this.job = job;
+            this.front = front;
+            this.timeMillis = timeMillis;
+            this.evaluations = evaluations;
+            this.hypervolume = hypervolume;
+        }
+    }
+
     public static void main(String[] args) {
 
         // instancias
@@ -52,11 +118,50 @@ public class TasParamTuningMain {
         int[] populationSizes   = {60, 120, 200};
         double[] crossoverProbs = {0.7, 0.9, 1.0};
         double[] mutationProbs  = {0.05, 0.10, 0.20};
-        int maxEvaluations      = 10000;
+        int maxEvaluations      = 10000;  // tope; los criterios de convergencia suelen cortar antes
 
         // CSV de salida
         Path outputPath = Paths.get("results", "tas_nsgaii_config_runs.csv");
 
+        // semilla fija tambien para el hilo principal (muestreo del punto de referencia del hipervolumen)
+        ThreadLocalRandomGenerator.install(BASE_SEED).setSeed(BASE_SEED);
+
+        // lista completa de corridas, en el mismo orden que los bucles anidados de antes
+        List<TuningJob> jobs = new ArrayList<>();
+        for (String instanceFile : tuningInstanceFiles) {
+
+            // cargar la instancia
+            TasInstance instance;
+            try {
+                instance = TasInstanceLoader.fromJson(Paths.get(instanceFile));
+            } catch (IOException e) {
+                System.err.println("Error cargando instancia " + instanceFile);
+                e.printStackTrace();
+                // pasar a la siguiente instancia
+                continue;
+            }
+
+            // nombre de la instancia para el CSV
+            String instanceName = Paths.get(instanceFile).getFileName().toString();
+
+            // problema asociado a esta instancia (evaluate es seguro para varios hilos)
+            TasProblem problem = new TasProblem(instance);
+            double[] hvReference = FrontMetrics.referencePoint(problem, HV_REFERENCE_SAMPLES, HV_REFERENCE_EPS);
+
+            for (int populationSize : populationSizes) {
+                for (double crossoverProbability : crossoverProbs) {
+                    for (double mutationProbability : mutationProbs) {
+                        for (int run = 0; run < NUM_RUNS; run++) {
+                            jobs.add(new TuningJob(instanceName, problem, hvReference, populationSize,
+                                    crossoverProbability, mutationProbability, run));
+                        }
+                    }
+                }
+            }
+        }
+
+        System.out.printf("Ajustando parametros: %d corridas en %d hilos%n", jobs.size(), TUNING_THREADS);
+
         try {
             // crear carpeta "results" si no existe
             if (outputPath.getParent() != null) {
@@ -76,101 +181,8 @@ public class TasParamTuningMain {
                     pw.println("instance,populationSize,crossoverProb,mutationProb,run,solutionIndex,f1_makespan,f2_dissatisfaction,timeMillis");
                 }
 
-                // bucle sobre las instancias de configuracion
-                for (String instanceFile : tuningInstanceFiles) {
-
-                    System.out.println("Ajustando parametros en instancia: " + instanceFile);
-
-                    // cargar la instancia
-                    TasInstance instance;
-                    try {
-                        instance = TasInstanceLoader.fromJson(Paths.get(instanceFile));
-                    } catch (IOException e) {
-                        System.err.println("Error cargando instancia " + instanceFile);
-                        e.printStackTrace();
-                        // pasar a la siguiente instancia
-                        continue;
-                    }
-
-                    // nombre de la instancia para el CSV
-                    String instanceName = Paths.get(instanceFile).getFileName().toString();
-
-                    // problema asociado a esta instancia
-                    Problem<PermutationSolution<Integer>> problem = new TasProblem(instance);
-
-                    // bucles para recorrer todas las combinaciones de parametros
-                    for (int populationSize : populationSizes) {
-                        for (double crossoverProbability : crossoverProbs) {
-                            for (double mutationProbability : mutationProbs) {
-
-                                // varias ejecuciones por configuracion
-                                for (int run = 0; run < NUM_RUNS; run++) {
-
-                                    // operadores con los parametros de esta combinacion
-                                    CrossoverOperator<PermutationSolution<Integer>> crossover =
-                                            new PMXCrossover(crossoverProbability);
-
-                                    MutationOperator<PermutationSolution<Integer>> mutation =
-                                            new PermutationSwapMutation(mutationProbability);
-
-                                    SelectionOperator<List<PermutationSolution<Integer>>, PermutationSolution<Integer>> selection =
-                                            new BinaryTournamentSelection<>(new DefaultDominanceComparator<>());
-
-                                    Algorithm<List<PermutationSolution<Integer>>> algorithm =
-                                            new NSGAIIBuilder<>(problem, crossover, mutation, populationSize)
-                                                    .setSelectionOperator(selection)
-                                                    .setMaxEvaluations(maxEvaluations)
-                                                    .build();
-
-                                    long startTime = System.currentTimeMillis();
-                                    algorithm.run();
-                                    long endTime = System.currentTimeMillis();
-                                    long timeMillis = endTime - startTime;
-
-                                    List<PermutationSolution<Integer>> result = algorithm.result();
-
-                                    System.out.printf(
-                                            "Instance=%s | pop=%d, pc=%.2f, pm=%.2f, run=%d, tiempo=%d ms, soluciones=%d%n",
-                                            instanceName,
-                                            populationSize,
-                                            crossoverProbability,
-                                            mutationProbability,
-                                            run,
-                                            timeMillis,
-                                            result.size()
-                                    );
-
-                                    // escribir soluciones en el CSV
-                                    int solIndex = 0;
-                                    for (PermutationSolution<Integer> sol : result) {
-                                        double f1 = sol.objectives()[0]; // makespan
-                                        double f2 = sol.objectives()[1]; // insatisfaccion
-
-                                        // instance,pop,pC,pM,run,solutionIndex,f1,f2,timeMillis
-                                        pw.printf(
-                                                Locale.US,  // para que ponga puntos y no comas
-                                                "%s,%d,%.2f,%.2f,%d,%d,%.4f,%.4f,%d%n",
-                                                instanceName,
-                                                populationSize,
-                                                crossoverProbability,
-                                                mutationProbability,
-                                                run,
-                                                solIndex,
-                                                f1,
-                                                f2,
-                                                timeMillis
-                                        );
-
-                                        solIndex++;
-                                    }
-
-                                    pw.flush();
-                                }
-                            }
-                        }
-                    }
-                }
-
+                TasExperimentRunner runner = new TasExperimentRunner(TUNING_THREADS, BASE_SEED);
+                runner.run(jobs, job -> runJob(job, maxEvaluations), result -> write(result, pw));
             }
 
             System.out.println("Resultados de configuracion guardados en: " + outputPath.toAbsolutePath());
@@ -179,4 +191,82 @@ public class TasParamTuningMain {
             e.printStackTrace();
         }
     }
-}
\ No newline at end of file
+
+    private static TuningResult runJob(TuningJob job, int maxEvaluations) {
+        // operadores con los parametros de esta combinacion
+        CrossoverOperator<PermutationSolution<Integer>> crossover =
+                new TasPMXCrossover(job.crossoverProbability);
+
+        MutationOperator<PermutationSolution<Integer>> mutation =
+                new TasSwapMutation(job.mutationProbability);
+
+        SelectionOperator<List<PermutationSolution<Integer>>, PermutationSolution<Integer>> selection =
+                new BinaryTournamentSelection<>(new DefaultDominanceComparator<>());
+
+        TasProblem problem = job.problem;
+        TasNSGAII<PermutationSolution<Integer>> algorithm =
+                new TasNSGAIIBuilder<>(problem, crossover, mutation, job.populationSize)
+                        .setSelectionOperator(selection)
+                        .setMaxEvaluations(maxEvaluations)
+                        .setSolutionListEvaluator(new SequentialSolutionListEvaluator<>())
+                        .addTerminationCriterion(() -> new HypervolumeStagnation<>(HV_WINDOW, HV_TOLERANCE))
+                        .addTerminationCriterion(() -> new FrontUnchanged<>(FRONT_UNCHANGED_GENERATIONS))
+                        .addTerminationCriterion(() -> new MakespanLowerBound<>(problem.getCompiledInstance(), LOWER_BOUND_STABLE_GENERATIONS))
+                        .setBiObjectiveRanking(BI_OBJECTIVE_RANKING)
+                        .buildNSGAII();
+
+        long startTime = System.currentTimeMillis();
+        algorithm.run();
+        long endTime = System.currentTimeMillis();
+        long timeMillis = endTime - startTime;
+
+        List<PermutationSolution<Integer>> result = algorithm.result();
+        double hv = Hypervolume2D.of(result, job.hvReference[0], job.hvReference[1]);
+        return new TuningResult(job, result, timeMillis, algorithm.evaluations(), hv);
+    }
+
+    // se llama en el orden de la lista de corridas
+    private static void write(TuningResult result, PrintWriter pw) {
+        TuningJob job = result.job;
+
+        System.out.printf(
+                Locale.US,
+                "Instance=%s | pop=%d, pc=%.2f, pm=%.2f, run=%d, tiempo=%d ms, soluciones=%d, evaluaciones=%d, hv=%.4f%n",
+                job.instanceName,
+                job.populationSize,
+                job.crossoverProbability,
+                job.mutationProbability,
+                job.run,
+                result.timeMillis,
+                result.front.size(),
+                result.evaluations,
+                result.hypervolume
+        );
+
+        // escribir soluciones en el CSV
+        int solIndex = 0;
+        for (PermutationSolution<Integer> sol : result.front) {
+            double f1 = sol.objectives()[0]; // makespan
+            double f2 = sol.objectives()[1]; // insatisfaccion
+
+            // instance,pop,pC,pM,run,solutionIndex,f1,f2,timeMillis
+            pw.printf(
+                    Locale.US,  // para que ponga puntos y no comas
+                    "%s,%d,%.2f,%.2f,%d,%d,%.4f,%.4f,%d%n",
+                    job.instanceName,
+                    job.populationSize,
+                    job.crossoverProbability,
+                    job.mutationProbability,
+                    job.run,
+                    solIndex,
+                    f1,
+                    f2,
+                    result.timeMillis
+            );
+
+            solIndex++;
+        }
+
+        pw.flush();
+    }
+}
@@ -0,0 +1,137 @@
+package com.example.ae;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.PriorityQueue;
+
+import org.uma.jmetal.solution.permutationsolution.PermutationSolution;
+import org.uma.jmetal.util.pseudorandom.JMetalRandom;
+
+import com.example.ae.model.CompiledTasInstance;
+import com.example.ae.problem.TasPermutationSolution;
+import com.example.ae.problem.TasProblem;
+
+// poblacion inicial con arranque heuristico: una fraccion de las soluciones sale de reglas de prioridad
+// (el orden del greedy, mayor duracion primero, mas sucesores primero, rango de camino critico, release date)
+// y el resto lo crea el algoritmo con problem.createSolution() para mantener diversidad.
+// Las reglas arman un orden topologico eligiendo siempre la tarea lista de mayor prioridad; los empates se
+// rompen al azar y, despues de la primera vuelta por las reglas, las prioridades llevan un ruido de ±10%
+public class TasPopulationInitializer {
+
+    private static final double NOISE = 0.10;
+
+    private final TasProblem problem;
+    private final CompiledTasInstance ci;
+    private final double heuristicFraction;
+
+    // prioridades por regla (mayor = antes); la regla 0 reproduce el orden del greedy
+    private final double[][] priorities;
+
+    public TasPopulationInitializer(TasProblem problem, double heuristicFraction) {
+        if (heuristicFraction < 0 || heuristicFraction > 1) {
+            throw new IllegalArgumentException("Heuristic fraction must be in [0, 1]: " + heuristicFraction);
+        }
+        this.problem = problem;
+        this.ci = problem.getCompiledInstance();
+        this.heuristicFraction = heuristicFraction;
+
+        int n = ci.numberOfTasks();
+        int maxDuration = 0;
+        for (int t = 0; t < n; t++) {
+            maxDuration = Math.max(maxDuration, ci.duration(t));
+        }
+
+        double[] greedy = new double[n];
+        double[] longestFirst = new double[n];
+        double[] mostSuccessors = new double[n];
+        double[] earliestRelease = new double[n];
+        for (int t = 0; t < n; t++) {
+            // release date creciente y luego duracion creciente, como TasGreedySolver
+            greedy[t] = -ci.releaseDate(t) - ci.duration(t) / (maxDuration + 1.0);
+            longestFirst[t] = ci.duration(t);
+            mostSuccessors[t] = ci.successorsEnd(t) - ci.successorsStart(t);
+            earliestRelease[t] = -ci.releaseDate(t);
+        }
+        this.priorities = new double[][]{greedy, longestFirst, mostSuccessors, criticalPathRank(), earliestRelease};
+    }
+
+    // soluciones heuristicas para una poblacion de populationSize (round(fraccion * populationSize) de ellas)
+    public List<PermutationSolution<Integer>> seeds(int populationSize) {
+        int heuristic = (int) Math.round(heuristicFraction * populationSize);
+        List<PermutationSolution<Integer>> seeds = new ArrayList<>(heuristic);
+
+        for (int i = 0; i < heuristic; i++) {
+            int rule = i % priorities.length;
+            boolean noisy = i >= priorities.length;
+
+            int[] pi = (i == 0)
+                    ? TasGreedySolver.greedyOrder(ci.source())
+                    : priorityOrder(priorities[rule], noisy);
+            seeds.add(new TasPermutationSolution(pi, problem.numberOfObjectives(), problem.numberOfConstraints()));
+        }
+        return seeds;
+    }
+
+    // largo del camino mas largo desde la tarea hasta el final (incluida su duracion): las tareas que
+    // encabezan cadenas largas van antes
+    private double[] criticalPathRank() {
+        int n = ci.numberOfTasks();
+        int[] order = topologicalOrder();
+        double[] rank = new double[n];
+        for (int i = n - 1; i >= 0; i--) {
+            int t = order[i];
+            double tail = 0.0;
+            for (int k = ci.successorsStart(t); k < ci.successorsEnd(t); k++) {
+                tail = Math.max(tail, rank[ci.successor(k)]);
+            }
+            rank[t] = ci.duration(t) + tail;
+        }
+        return rank;
+    }
+
+    private int[] topologicalOrder() {
+        double[] none = new double[ci.numberOfTasks()];
+        return priorityOrder(none, false);
+    }
+
+    // orden topologico tomando siempre la tarea lista de mayor prioridad (empates al azar)
+    private int[] priorityOrder(double[] priority, boolean noisy) {
+        JMetalRandom random = JMetalRandom.getInstance();
+        int n = ci.numberOfTasks();
+
+        double[] key = new double[n];
+        double[] tieBreak = new double[n];
+        for (int t = 0; t < n; t++) {
+            key[t] = noisy ? priority[t] * (1.0 + random.nextDouble(-NOISE, NOISE)) : priority[t];
+            tieBreak[t] = random.nextDouble();
+        }
+
+        PriorityQueue<Integer> ready = new PriorityQueue<>((a, b) -> {
+            int cmp = Double.compare(key[b], key[a]);
+            return (cmp != 0) ? cmp : Double.compare(tieBreak[a], tieBreak[b]);
+        });
+        int[] pendingPreds = new int[n];
+        for (int t = 0; t < n; t++) {
+            pendingPreds[t] = ci.predecessorCount(t);
+            if (pendingPreds[t] == 0) {
+                ready.add(t);
+            }
+        }
+
+        int[] order = new int[n];
+        for (int count = 0; count < n; count++) {
+            if (ready.isEmpty()) {
+                throw new IllegalStateException("Precedence graph has a cycle");
+            }
+            int t = ready.poll();
+            order[count] = t;
+            for (int k = ci.successorsStart(t); k < ci.successorsEnd(t); k++) {
+                int succ = ci.successor(k);
+                if (--pendingPreds[succ] == 0) {
+                    ready.add(succ);
+                }
+            }
+        }
+        return order;
+    }
+}
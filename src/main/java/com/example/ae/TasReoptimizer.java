@@ -0,0 +1,161 @@
+package com.example.ae;
+
+import java.util.ArrayList;
+import java.util.List;
+
+import org.uma.jmetal.solution.permutationsolution.PermutationSolution;
+import org.uma.jmetal.util.pseudorandom.JMetalRandom;
+
+import com.example.ae.algorithm.AnytimeAlgorithm;
+import com.example.ae.algorithm.FrontUnchanged;
+import com.example.ae.algorithm.TasNSGAIIBuilder;
+import com.example.ae.model.CompiledTasInstance;
+import com.example.ae.model.TasInstance;
+import com.example.ae.model.TasInstanceDelta;
+import com.example.ae.operator.TasPrecedencePreservingCrossover;
+import com.example.ae.operator.TasPrecedenceShiftMutation;
+import com.example.ae.problem.TasPermutationSolution;
+import com.example.ae.problem.TasProblem;
+
+// reoptimizacion incremental: cuando la instancia cambia poco, se reparan las permutaciones del frente
+// anterior (se sacan las tareas eliminadas y se insertan las nuevas despues de sus predecesores) y se usan
+// como semilla de un NSGA-II corto sobre la instancia nueva, en lugar de resolver desde cero
+public class TasReoptimizer {
+
+    private final int populationSize;
+    private final int maxEvaluations;
+    private final double crossoverProbability;
+    private final double mutationProbability;
+    private final int frontUnchangedGenerations;
+    private long timeBudgetMillis = 0;
+
+    public TasReoptimizer(int populationSize, int maxEvaluations,
+                          double crossoverProbability, double mutationProbability,
+                          int frontUnchangedGenerations) {
+        this.populationSize = populationSize;
+        this.maxEvaluations = maxEvaluations;
+        this.crossoverProbability = crossoverProbability;
+        this.mutationProbability = mutationProbability;
+        this.frontUnchangedGenerations = frontUnchangedGenerations;
+    }
+
+    // limite de tiempo de reloj en ms (0 = sin limite)
+    public void setTimeBudgetMillis(long timeBudgetMillis) {
+        this.timeBudgetMillis = timeBudgetMillis;
+    }
+
+    public List<PermutationSolution<Integer>> reoptimize(TasInstance oldInstance,
+                                                         List<PermutationSolution<Integer>> previousFront,
+                                                         TasInstanceDelta delta) {
+        return reoptimize(oldInstance, previousFront, delta.applyTo(oldInstance));
+    }
+
+    // el frente devuelto es sobre newInstance (permutaciones con sus indices de tarea)
+    public List<PermutationSolution<Integer>> reoptimize(TasInstance oldInstance,
+                                                         List<PermutationSolution<Integer>> previousFront,
+                                                         TasInstance newInstance) {
+        TasProblem problem = new TasProblem(newInstance);
+        CompiledTasInstance ci = problem.getCompiledInstance();
+
+        List<PermutationSolution<Integer>> seeds = new ArrayList<>();
+        for (PermutationSolution<Integer> solution : previousFront) {
+            int[] pi = repair(permutationOf(solution), oldInstance, ci);
+            seeds.add(new TasPermutationSolution(pi, problem.numberOfObjectives(), problem.numberOfConstraints()));
+        }
+
+        AnytimeAlgorithm<PermutationSolution<Integer>> algorithm =
+                new TasNSGAIIBuilder<>(problem,
+                        new TasPrecedencePreservingCrossover(crossoverProbability, ci),
+                        new TasPrecedenceShiftMutation(mutationProbability, ci),
+                        Math.max(populationSize, seeds.size()))
+                        .setMaxEvaluations(maxEvaluations)
+                        .setInitialSolutions(seeds)
+                        .addTerminationCriterion(() -> new FrontUnchanged<>(frontUnchangedGenerations))
+                        .setTimeBudget(timeBudgetMillis)
+                        .build();
+
+        algorithm.run();
+        return algorithm.result();
+    }
+
+    // traduce una permutacion de la instancia vieja a la nueva: las tareas que siguen se mantienen en su orden
+    // relativo y cada tarea nueva se inserta en una posicion al azar entre su ultimo predecesor y su primer sucesor
+    public static int[] repair(int[] oldPi, TasInstance oldInstance, CompiledTasInstance ci) {
+        int n = ci.numberOfTasks();
+        List<Integer> order = new ArrayList<>(n);
+        boolean[] placed = new boolean[n];
+
+        for (int oldIndex : oldPi) {
+            int t = ci.taskIndexOf(oldInstance.tasks().get(oldIndex).id());
+            if (t >= 0) {
+                order.add(t);
+                placed[t] = true;
+            }
+        }
+
+        JMetalRandom random = JMetalRandom.getInstance();
+        boolean progress = true;
+        while (order.size() < n && progress) {
+            progress = false;
+            for (int t = 0; t < n; t++) {
+                if (placed[t] || !predecessorsPlaced(t, ci, placed)) {
+                    continue;
+                }
+
+                int lo = 0;
+                int hi = order.size();
+                for (int pos = 0; pos < order.size(); pos++) {
+                    int other = order.get(pos);
+                    if (isPredecessor(other, t, ci)) {
+                        lo = Math.max(lo, pos + 1);
+                    } else if (isPredecessor(t, other, ci)) {
+                        hi = Math.min(hi, pos);
+                    }
+                }
+                int at = (hi > lo) ? random.nextInt(lo, hi) : lo;
+
+                order.add(at, t);
+                placed[t] = true;
+                progress = true;
+            }
+        }
+        if (order.size() < n) {
+            throw new IllegalStateException("Precedence graph has a cycle");
+        }
+
+        int[] pi = new int[n];
+        for (int i = 0; i < n; i++) {
+            pi[i] = order.get(i);
+        }
+        return pi;
+    }
+
+    private static boolean predecessorsPlaced(int t, CompiledTasInstance ci, boolean[] placed) {
+        for (int i = ci.predecessorsStart(t); i < ci.predecessorsEnd(t); i++) {
+            if (!placed[ci.predecessor(i)]) {
+                return false;
+            }
+        }
+        return true;
+    }
+
+    private static boolean isPredecessor(int pred, int t, CompiledTasInstance ci) {
+        for (int i = ci.predecessorsStart(t); i < ci.predecessorsEnd(t); i++) {
+            if (ci.predecessor(i) == pred) {
+                return true;
+            }
+        }
+        return false;
+    }
+
+    private static int[] permutationOf(PermutationSolution<Integer> solution) {
+        if (solution instanceof TasPermutationSolution) {
+            return ((TasPermutationSolution) solution).permutation();
+        }
+        int[] pi = new int[solution.variables().size()];
+        for (int i = 0; i < pi.length; i++) {
+            pi[i] = solution.variables().get(i);
+        }
+        return pi;
+    }
+}
@@ -1,24 +1,27 @@
 package com.example.ae;
 
+import com.example.ae.algorithm.ParallelSolutionListEvaluator;
+import com.example.ae.algorithm.TasNSGAIIBuilder;
 import com.example.ae.decoder.TasDecoder;
 import com.example.ae.decoder.TasSchedule;
 import com.example.ae.io.TasInstanceLoader;
 import com.example.ae.visual.TasSchedulePlotter;
 import com.example.ae.model.Employee;
 import com.example.ae.model.TasInstance;
+import com.example.ae.operator.TasPMXCrossover;
+import com.example.ae.operator.TasPrecedencePreservingCrossover;
+import com.example.ae.operator.TasPrecedenceShiftMutation;
+import com.example.ae.operator.TasSwapMutation;
 import com.example.ae.model.Task;
 import com.example.ae.problem.TasProblem;
 import org.uma.jmetal.algorithm.Algorithm;
-import org.uma.jmetal.algorithm.multiobjective.nsgaii.NSGAIIBuilder;
 import org.uma.jmetal.operator.crossover.CrossoverOperator;
-import org.uma.jmetal.operator.crossover.impl.PMXCrossover;
 import org.uma.jmetal.operator.mutation.MutationOperator;
-import org.uma.jmetal.operator.mutation.impl.PermutationSwapMutation;
 import org.uma.jmetal.operator.selection.SelectionOperator;
 import org.uma.jmetal.operator.selection.impl.BinaryTournamentSelection;
-import org.uma.jmetal.problem.Problem;
 import org.uma.jmetal.solution.permutationsolution.PermutationSolution;
 import org.uma.jmetal.util.comparator.dominanceComparator.impl.DefaultDominanceComparator;
+import org.uma.jmetal.util.evaluator.SolutionListEvaluator;
 
 import java.io.IOException;
 import java.nio.file.Paths;
@@ -28,6 +31,13 @@ import java.util.List;
 
 public class TasSingleRunMain {
 
+    // limite de tiempo en ms (0 = sin limite): al vencer se usa el frente no dominado que haya en ese momento
+    private static final long TIME_BUDGET_MILLIS = 0;
+
+    // operadores que respetan las precedencias (PPX + desplazamiento) y poblacion inicial en orden topologico;
+    // con false se usan PMX + swap sobre permutaciones uniformes, la configuracion ajustada
+    private static final boolean PRECEDENCE_OPERATORS = false;
+
     public static void main(String[] args) {
     	
     	
@@ -41,23 +51,35 @@ public class TasSingleRunMain {
 			return;
 		}
         
-        Problem<PermutationSolution<Integer>> problem = new TasProblem(instance);
+        TasProblem problem = new TasProblem(instance);
+        problem.setTopologicalInitialization(PRECEDENCE_OPERATORS);
 
-        CrossoverOperator<PermutationSolution<Integer>> crossover = new PMXCrossover(0.8);
-        MutationOperator<PermutationSolution<Integer>> mutation = new PermutationSwapMutation(0.1);
+        CrossoverOperator<PermutationSolution<Integer>> crossover = PRECEDENCE_OPERATORS
+                ? new TasPrecedencePreservingCrossover(0.8, problem.getCompiledInstance())
+                : new TasPMXCrossover(0.8);
+        MutationOperator<PermutationSolution<Integer>> mutation = PRECEDENCE_OPERATORS
+                ? new TasPrecedenceShiftMutation(0.1, problem.getCompiledInstance())
+                : new TasSwapMutation(0.1);
         SelectionOperator<List<PermutationSolution<Integer>>, PermutationSolution<Integer>> selection =
                 new BinaryTournamentSelection<>(new DefaultDominanceComparator<>());
 
         int populationSize = 120;
         int maxEvaluations = 10000;
 
+        // evaluacion paralela: un hilo por procesador, bloques de 8 soluciones
+        SolutionListEvaluator<PermutationSolution<Integer>> evaluator =
+                new ParallelSolutionListEvaluator<>(8);
+
         Algorithm<List<PermutationSolution<Integer>>> algorithm =
-                new NSGAIIBuilder<>(problem, crossover, mutation, populationSize)
+                new TasNSGAIIBuilder<>(problem, crossover, mutation, populationSize)
                         .setSelectionOperator(selection)
                         .setMaxEvaluations(maxEvaluations)
+                        .setSolutionListEvaluator(evaluator)
+                        .setTimeBudget(TIME_BUDGET_MILLIS)
                         .build();
 
         algorithm.run();
+        evaluator.shutdown();
         List<PermutationSolution<Integer>> result = algorithm.result();
         
         for (PermutationSolution<Integer> sol : result) {
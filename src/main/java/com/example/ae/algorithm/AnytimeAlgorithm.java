@@ -0,0 +1,11 @@
+package com.example.ae.algorithm;
+
+import java.util.List;
+
+import org.uma.jmetal.algorithm.Algorithm;
+import org.uma.jmetal.solution.Solution;
+
+// algoritmo que puede dar su mejor frente hasta el momento mientras corre (desde cualquier hilo)
+public interface AnytimeAlgorithm<S extends Solution<?>> extends Algorithm<List<S>> {
+    List<S> currentFront();
+}
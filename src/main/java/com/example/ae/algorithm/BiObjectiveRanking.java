@@ -0,0 +1,148 @@
+package com.example.ae.algorithm;
+
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.List;
+
+import org.uma.jmetal.solution.Solution;
+
+// ranking no dominado y crowding para dos objetivos (minimizacion) en O(N log N), tipo Jensen / Fortin:
+// se ordena por (f1, f2) y se barre una vez; cada punto va al primer frente cuyo ultimo miembro (el de menor
+// f2 hasta ahora) no lo domina, buscado con busqueda binaria porque esos f2 crecen con el frente.
+// Los frentes quedan ordenados por f1, asi que el crowding sale de los vecinos sin volver a ordenar
+public final class BiObjectiveRanking {
+
+    private BiObjectiveRanking() {
+    }
+
+    // rango (0 = no dominado) de cada solucion, alineado con la lista
+    public static <S extends Solution<?>> int[] rank(List<S> solutions) {
+        int[] order = sortedOrder(solutions);
+        int[] rank = new int[solutions.size()];
+        double[] lastSecond = new double[solutions.size()];
+        int fronts = 0;
+
+        for (int i = 0; i < order.length; i++) {
+            double[] p = solutions.get(order[i]).objectives();
+
+            // un punto repetido no se domina con su igual: mismo frente que el anterior
+            if (i > 0 && Arrays.equals(p, solutions.get(order[i - 1]).objectives())) {
+                rank[order[i]] = rank[order[i - 1]];
+                continue;
+            }
+
+            // primer frente con lastSecond > p[1] (los anteriores tienen f1 <= p[0] y lo dominan)
+            int lo = 0;
+            int hi = fronts;
+            while (lo < hi) {
+                int mid = (lo + hi) >>> 1;
+                if (lastSecond[mid] <= p[1]) {
+                    lo = mid + 1;
+                } else {
+                    hi = mid;
+                }
+            }
+            if (lo == fronts) {
+                fronts++;
+            }
+            lastSecond[lo] = p[1];
+            rank[order[i]] = lo;
+        }
+        return rank;
+    }
+
+    // reemplazo de NSGA-II: los 'size' mejores por rango y, en el ultimo frente que entra, por crowding.
+    // La lista resultante queda ordenada de mejor a peor
+    public static <S extends Solution<?>> List<S> select(List<S> solutions, int size) {
+        int[] order = sortedOrder(solutions);
+        int[] rank = rank(solutions);
+
+        // frentes con sus miembros en orden creciente de f1
+        List<List<Integer>> fronts = new ArrayList<>();
+        for (int index : order) {
+            while (fronts.size() <= rank[index]) {
+                fronts.add(new ArrayList<>());
+            }
+            fronts.get(rank[index]).add(index);
+        }
+
+        List<S> selected = new ArrayList<>(size);
+        for (List<Integer> front : fronts) {
+            if (selected.size() == size) {
+                break;
+            }
+            if (selected.size() + front.size() <= size) {
+                for (int index : front) {
+                    selected.add(solutions.get(index));
+                }
+                continue;
+            }
+
+            double[] crowding = crowdingDistance(solutions, front);
+            Integer[] byCrowding = new Integer[front.size()];
+            for (int i = 0; i < byCrowding.length; i++) {
+                byCrowding[i] = i;
+            }
+            Arrays.sort(byCrowding, (a, b) -> Double.compare(crowding[b], crowding[a]));
+            for (int i = 0; selected.size() < size; i++) {
+                selected.add(solutions.get(front.get(byCrowding[i])));
+            }
+        }
+        return selected;
+    }
+
+    // crowding de un frente ya ordenado por f1 (y por lo tanto por f2 decreciente)
+    static <S extends Solution<?>> double[] crowdingDistance(List<S> solutions, List<Integer> front) {
+        int size = front.size();
+        double[] crowding = new double[size];
+        if (size <= 2) {
+            Arrays.fill(crowding, Double.POSITIVE_INFINITY);
+            return crowding;
+        }
+
+        double[] first = solutions.get(front.get(0)).objectives();
+        double[] last = solutions.get(front.get(size - 1)).objectives();
+        double range0 = last[0] - first[0];
+        double range1 = first[1] - last[1];
+
+        crowding[0] = Double.POSITIVE_INFINITY;
+        crowding[size - 1] = Double.POSITIVE_INFINITY;
+        for (int i = 1; i < size - 1; i++) {
+            double[] prev = solutions.get(front.get(i - 1)).objectives();
+            double[] next = solutions.get(front.get(i + 1)).objectives();
+            double d = 0.0;
+            if (range0 > 0) {
+                d += (next[0] - prev[0]) / range0;
+            }
+            if (range1 > 0) {
+                d += (prev[1] - next[1]) / range1;
+            }
+            crowding[i] = d;
+        }
+        return crowding;
+    }
+
+    private static <S extends Solution<?>> int[] sortedOrder(List<S> solutions) {
+        for (S s : solutions) {
+            if (s.objectives().length != 2) {
+                throw new IllegalArgumentException(
+                        "Bi-objective ranking needs two objectives, got " + s.objectives().length);
+            }
+        }
+        Integer[] boxed = new Integer[solutions.size()];
+        for (int i = 0; i < boxed.length; i++) {
+            boxed[i] = i;
+        }
+        Arrays.sort(boxed, (a, b) -> {
+            double[] pa = solutions.get(a).objectives();
+            double[] pb = solutions.get(b).objectives();
+            int cmp = Double.compare(pa[0], pb[0]);
+            return (cmp != 0) ? cmp : Double.compare(pa[1], pb[1]);
+        });
+        int[] order = new int[boxed.length];
+        for (int i = 0; i < order.length; i++) {
+            order[i] = boxed[i];
+        }
+        return order;
+    }
+}
@@ -0,0 +1,181 @@
+package com.example.ae.algorithm;
+
+import java.util.ArrayList;
+import java.util.Iterator;
+import java.util.List;
+import java.util.Map;
+import java.util.TreeMap;
+import java.util.TreeSet;
+
+import org.uma.jmetal.solution.Solution;
+
+import com.example.ae.problem.TasProblem;
+
+// archivo externo acotado con dominancia por cajas epsilon (dos objetivos, minimizacion). Cada objetivo se
+// divide en cajas de ancho epsilon y queda a lo sumo una solucion por caja; las cajas no dominadas forman
+// una escalera que se guarda en un TreeMap caja1 -> (caja2, solucion), asi insertar cuesta O(log n) mas las
+// cajas que salen. Dentro de una caja gana la que domina y, si no se dominan, la mas cercana a la esquina.
+// Con mas de 'capacity' cajas se descarta la interior con vecinos mas cercanos (los extremos se conservan):
+// la distancia entre vecinos se mide en cajas epsilon y las interiores se guardan en un TreeSet ordenado por
+// ella, asi al insertar o sacar solo se recalculan los vecinos del cambio y descartar tambien cuesta O(log n).
+// Guarda copias y se puede compartir entre hilos; run() no lo vacia
+public class EpsilonArchive<S extends Solution<?>> {
+
+    private final double epsilon1;
+    private final double epsilon2;
+    private final int capacity;
+
+    private final TreeMap<Long, Slot<S>> boxes = new TreeMap<>();
+
+    // cajas interiores ordenadas por distancia a sus vecinos (la primera es la que se descarta)
+    private final TreeSet<Slot<S>> crowding = new TreeSet<>((a, b) -> {
+        int cmp = Double.compare(a.gap, b.gap);
+        return (cmp != 0) ? cmp : Long.compare(a.box1, b.box1);
+    });
+
+    // gap solo cambia mientras el slot esta fuera de crowding
+    private static final class Slot<S> {
+        final long box1;
+        final long box2;
+        final S solution;
+        double gap;
+
+        Slot(long box1, long box2, S solution) {
+            this.box1 = box1;
+            this.box2 = box2;
+            this.solution = solution;
+        }
+    }
+
+    public EpsilonArchive(double epsilon1, double epsilon2, int capacity) {
+        if (epsilon1 <= 0 || epsilon2 <= 0) {
+            throw new IllegalArgumentException("Epsilons must be positive: " + epsilon1 + ", " + epsilon2);
+        }
+        if (capacity < 2) {
+            throw new IllegalArgumentException("Archive capacity must be at least 2: " + capacity);
+        }
+        this.epsilon1 = epsilon1;
+        this.epsilon2 = epsilon2;
+        this.capacity = capacity;
+    }
+
+    // devuelve true si la solucion (una copia) entro al archivo. Las soluciones con decode cortado no
+    // entran: sus objetivos son la penalizacion
+    @SuppressWarnings("unchecked")
+    public synchronized boolean add(S solution) {
+        if (TasProblem.isEarlyAborted(solution)) {
+            return false;
+        }
+        double[] f = solution.objectives();
+        if (f.length != 2) {
+            throw new IllegalArgumentException("Epsilon archive needs two objectives, got " + f.length);
+        }
+        long b1 = (long) Math.floor(f[0] / epsilon1);
+        long b2 = (long) Math.floor(f[1] / epsilon2);
+
+        // la caja con menor caja2 entre las de caja1 <= b1 es la unica que puede dominar a (b1, b2)
+        Map.Entry<Long, Slot<S>> floor = boxes.floorEntry(b1);
+        if (floor != null) {
+            Slot<S> slot = floor.getValue();
+            if (floor.getKey() == b1 && slot.box2 == b2) {
+                if (!replaces(f, slot.solution.objectives(), b1, b2)) {
+                    return false;
+                }
+                crowding.remove(slot);
+                boxes.put(b1, new Slot<>(b1, b2, (S) solution.copy()));
+                refreshAround(b1);
+                return true;
+            }
+            if (slot.box2 <= b2) {
+                return false;
+            }
+        }
+
+        // sacar las cajas que (b1, b2) domina: caja1 >= b1 y caja2 >= b2, consecutivas desde b1
+        Iterator<Slot<S>> it = boxes.tailMap(b1, true).values().iterator();
+        while (it.hasNext()) {
+            Slot<S> dominated = it.next();
+            if (dominated.box2 < b2) {
+                break;
+            }
+            crowding.remove(dominated);
+            it.remove();
+        }
+
+        // las cajas sacadas eran consecutivas, asi que solo cambian los vecinos de la nueva
+        boxes.put(b1, new Slot<>(b1, b2, (S) solution.copy()));
+        refreshAround(b1);
+        if (boxes.size() > capacity) {
+            removeMostCrowded();
+        }
+        return true;
+    }
+
+    // misma caja: la nueva reemplaza si domina a la actual o, si no se dominan, si esta mas cerca de la esquina
+    private boolean replaces(double[] candidate, double[] current, long b1, long b2) {
+        boolean better = candidate[0] <= current[0] && candidate[1] <= current[1];
+        boolean worse = candidate[0] >= current[0] && candidate[1] >= current[1];
+        if (better || worse) {
+            return better && !worse;
+        }
+        return cornerDistance(candidate, b1, b2) < cornerDistance(current, b1, b2);
+    }
+
+    private double cornerDistance(double[] f, long b1, long b2) {
+        double d1 = (f[0] - b1 * epsilon1) / epsilon1;
+        double d2 = (f[1] - b2 * epsilon2) / epsilon2;
+        return d1 * d1 + d2 * d2;
+    }
+
+    // la caja interior cuyos vecinos estan mas cerca; con mas de capacity >= 2 cajas siempre hay una
+    private void removeMostCrowded() {
+        Slot<S> worst = crowding.pollFirst();
+        boxes.remove(worst.box1);
+        Long lower = boxes.lowerKey(worst.box1);
+        Long higher = boxes.higherKey(worst.box1);
+        refresh(lower);
+        refresh(higher);
+    }
+
+    private void refreshAround(long b1) {
+        refresh(boxes.lowerKey(b1));
+        refresh(b1);
+        refresh(boxes.higherKey(b1));
+    }
+
+    // recalcula la distancia de la caja a sus vecinos; los extremos quedan fuera de crowding
+    private void refresh(Long b1) {
+        if (b1 == null) {
+            return;
+        }
+        Slot<S> slot = boxes.get(b1);
+        crowding.remove(slot);
+        Map.Entry<Long, Slot<S>> lower = boxes.lowerEntry(b1);
+        Map.Entry<Long, Slot<S>> higher = boxes.higherEntry(b1);
+        if (lower == null || higher == null) {
+            return;
+        }
+        double[] prev = lower.getValue().solution.objectives();
+        double[] next = higher.getValue().solution.objectives();
+        slot.gap = (next[0] - prev[0]) / epsilon1 + (prev[1] - next[1]) / epsilon2;
+        crowding.add(slot);
+    }
+
+    // soluciones del archivo en orden creciente del primer objetivo
+    public synchronized List<S> solutions() {
+        List<S> solutions = new ArrayList<>(boxes.size());
+        for (Slot<S> slot : boxes.values()) {
+            solutions.add(slot.solution);
+        }
+        return solutions;
+    }
+
+    public synchronized int size() {
+        return boxes.size();
+    }
+
+    public synchronized void clear() {
+        boxes.clear();
+        crowding.clear();
+    }
+}
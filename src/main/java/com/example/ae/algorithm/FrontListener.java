@@ -0,0 +1,10 @@
+package com.example.ae.algorithm;
+
+import java.util.List;
+
+import org.uma.jmetal.solution.Solution;
+
+// recibe el frente no dominado actual al final de cada generacion (la lista no se puede modificar)
+public interface FrontListener<S extends Solution<?>> {
+    void onFront(List<S> front, int evaluations);
+}
@@ -0,0 +1,60 @@
+package com.example.ae.algorithm;
+
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.Comparator;
+import java.util.List;
+
+import org.uma.jmetal.solution.Solution;
+import org.uma.jmetal.util.SolutionListUtils;
+
+// para cuando los vectores objetivo del frente no dominado no cambian durante 'generations' generaciones seguidas
+public class FrontUnchanged<S extends Solution<?>> implements TerminationCriterion<S> {
+
+    private final int generations;
+
+    private List<double[]> previous;
+    private int unchanged;
+
+    public FrontUnchanged(int generations) {
+        if (generations <= 0) {
+            throw new IllegalArgumentException("Generations must be positive: " + generations);
+        }
+        this.generations = generations;
+    }
+
+    @Override
+    public void reset() {
+        previous = null;
+        unchanged = 0;
+    }
+
+    @Override
+    public boolean isMet(List<S> population, int evaluations) {
+        List<double[]> front = new ArrayList<>();
+        for (S s : SolutionListUtils.getNonDominatedSolutions(population)) {
+            front.add(s.objectives().clone());
+        }
+        front.sort(Comparator.<double[]>comparingDouble(p -> p[0]).thenComparingDouble(p -> p[1]));
+
+        if (previous != null && sameVectors(previous, front)) {
+            unchanged++;
+        } else {
+            unchanged = 0;
+        }
+        previous = front;
+        return unchanged >= generations;
+    }
+
+    private static boolean sameVectors(List<double[]> a, List<double[]> b) {
+        if (a.size() != b.size()) {
+            return false;
+        }
+        for (int i = 0; i < a.size(); i++) {
+            if (!Arrays.equals(a.get(i), b.get(i))) {
+                return false;
+            }
+        }
+        return true;
+    }
+}
@@ -0,0 +1,8 @@
+package com.example.ae.algorithm;
+
+import org.uma.jmetal.solution.Solution;
+
+// se invoca al terminar cada generacion de TasNSGAII (despues del reemplazo)
+public interface GenerationListener<S extends Solution<?>> {
+    void onGeneration(TasNSGAII<S> algorithm, int generation);
+}
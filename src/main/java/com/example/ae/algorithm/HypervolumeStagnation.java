@@ -0,0 +1,59 @@
+package com.example.ae.algorithm;
+
+import java.util.ArrayDeque;
+import java.util.Deque;
+import java.util.List;
+
+import org.uma.jmetal.solution.Solution;
+
+import com.example.ae.metrics.Hypervolume2D;
+
+// para cuando el hipervolumen (dos objetivos, minimizacion) del frente no dominado mejora menos de
+// 'tolerance' (relativo) a lo largo de 'window' generaciones. El punto de referencia se fija en la primera
+// generacion: el peor valor de cada objetivo en la poblacion mas un 10%
+public class HypervolumeStagnation<S extends Solution<?>> implements TerminationCriterion<S> {
+
+    private final int window;
+    private final double tolerance;
+
+    private final Deque<Double> history = new ArrayDeque<>();
+    private double[] reference;
+
+    public HypervolumeStagnation(int window, double tolerance) {
+        if (window <= 0) {
+            throw new IllegalArgumentException("Window must be positive: " + window);
+        }
+        this.window = window;
+        this.tolerance = tolerance;
+    }
+
+    @Override
+    public void reset() {
+        history.clear();
+        reference = null;
+    }
+
+    @Override
+    public boolean isMet(List<S> population, int evaluations) {
+        if (reference == null) {
+            reference = referencePoint(population);
+        }
+
+        double hv = Hypervolume2D.of(population, reference[0], reference[1]);
+        history.addLast(hv);
+        if (history.size() <= window) {
+            return false;
+        }
+        double old = history.removeFirst();
+        return hv - old <= tolerance * Math.max(hv, Double.MIN_VALUE);
+    }
+
+    private static <S extends Solution<?>> double[] referencePoint(List<S> population) {
+        double[] worst = {Double.NEGATIVE_INFINITY, Double.NEGATIVE_INFINITY};
+        for (S s : population) {
+            worst[0] = Math.max(worst[0], s.objectives()[0]);
+            worst[1] = Math.max(worst[1], s.objectives()[1]);
+        }
+        return new double[]{worst[0] * 1.1 + 1.0, worst[1] * 1.1 + 1.0};
+    }
+}
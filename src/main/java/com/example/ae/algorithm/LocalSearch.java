@@ -0,0 +1,8 @@
+package com.example.ae.algorithm;
+
+import org.uma.jmetal.solution.Solution;
+
+// busqueda local para el modo memetico: mejora la solucion (ya evaluada) en el lugar y la devuelve
+public interface LocalSearch<S extends Solution<?>> {
+    S improve(S solution);
+}
@@ -0,0 +1,90 @@
+package com.example.ae.algorithm;
+
+import java.util.List;
+
+import org.uma.jmetal.solution.Solution;
+
+import com.example.ae.model.CompiledTasInstance;
+
+// para cuando alguna solucion alcanza la cota inferior del makespan (objetivo 0): el maximo entre el camino
+// critico (release dates + duraciones por las precedencias) y la carga total repartida entre los empleados.
+// Alcanzar la cota no dice nada del lado de la insatisfaccion, asi que ademas el frente tiene que llevar
+// 'stableGenerations' generaciones sin cambios (un plazo mas corto que el de FrontUnchanged solo)
+public class MakespanLowerBound<S extends Solution<?>> implements TerminationCriterion<S> {
+
+    private final double lowerBound;
+    private final FrontUnchanged<S> stable;
+
+    public MakespanLowerBound(CompiledTasInstance instance, int stableGenerations) {
+        this.lowerBound = lowerBound(instance);
+        this.stable = new FrontUnchanged<>(stableGenerations);
+    }
+
+    @Override
+    public void reset() {
+        stable.reset();
+    }
+
+    @Override
+    public boolean isMet(List<S> population, int evaluations) {
+        // el frente se sigue en todas las generaciones, se haya alcanzado la cota o no
+        boolean frontStable = stable.isMet(population, evaluations);
+        if (!frontStable) {
+            return false;
+        }
+        for (S s : population) {
+            if (s.objectives()[0] <= lowerBound) {
+                return true;
+            }
+        }
+        return false;
+    }
+
+    public double lowerBound() {
+        return lowerBound;
+    }
+
+    public static double lowerBound(CompiledTasInstance ci) {
+        int n = ci.numberOfTasks();
+
+        // fin mas temprano de cada tarea en orden topologico (Kahn)
+        int[] pendingPreds = new int[n];
+        int[] queue = new int[n];
+        int head = 0;
+        int tail = 0;
+        for (int t = 0; t < n; t++) {
+            pendingPreds[t] = ci.predecessorCount(t);
+            if (pendingPreds[t] == 0) {
+                queue[tail++] = t;
+            }
+        }
+
+        int[] earliestFinish = new int[n];
+        long criticalPath = 0;
+        long totalWork = 0;
+        while (head < tail) {
+            int t = queue[head++];
+            int start = ci.releaseDate(t);
+            for (int i = ci.predecessorsStart(t); i < ci.predecessorsEnd(t); i++) {
+                start = Math.max(start, earliestFinish[ci.predecessor(i)]);
+            }
+            earliestFinish[t] = start + ci.duration(t);
+            criticalPath = Math.max(criticalPath, earliestFinish[t]);
+            totalWork += ci.duration(t);
+
+            for (int i = ci.successorsStart(t); i < ci.successorsEnd(t); i++) {
+                int succ = ci.successor(i);
+                if (--pendingPreds[succ] == 0) {
+                    queue[tail++] = succ;
+                }
+            }
+        }
+        if (tail < n) {
+            throw new IllegalStateException("Precedence graph has a cycle");
+        }
+
+        // cada tarea la hace un solo empleado: el makespan es al menos la carga media
+        long averageLoad = (totalWork + ci.numberOfEmployees() - 1) / Math.max(1, ci.numberOfEmployees());
+        return Math.max(criticalPath, averageLoad);
+    }
+}
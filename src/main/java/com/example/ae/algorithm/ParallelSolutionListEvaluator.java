@@ -0,0 +1,77 @@
+package com.example.ae.algorithm;
+
+import java.util.List;
+import java.util.concurrent.ForkJoinPool;
+import java.util.concurrent.RecursiveAction;
+
+import org.uma.jmetal.problem.Problem;
+import org.uma.jmetal.util.evaluator.SolutionListEvaluator;
+
+// evaluador paralelo para NSGAIIBuilder.setSolutionListEvaluator: reparte la lista en bloques de
+// 'batchSize' soluciones sobre un ForkJoinPool propio (el problema tiene que ser seguro para varios hilos)
+public class ParallelSolutionListEvaluator<S> implements SolutionListEvaluator<S> {
+
+    private final ForkJoinPool pool;
+    private final int batchSize;
+
+    public ParallelSolutionListEvaluator(int numberOfThreads, int batchSize) {
+        if (numberOfThreads <= 0) {
+            throw new IllegalArgumentException("Number of threads must be positive: " + numberOfThreads);
+        }
+        if (batchSize <= 0) {
+            throw new IllegalArgumentException("Batch size must be positive: " + batchSize);
+        }
+        this.pool = new ForkJoinPool(numberOfThreads);
+        this.batchSize = batchSize;
+    }
+
+    // un hilo por procesador
+    public ParallelSolutionListEvaluator(int batchSize) {
+        this(Runtime.getRuntime().availableProcessors(), batchSize);
+    }
+
+    @Override
+    public List<S> evaluate(List<S> solutionList, Problem<S> problem) {
+        pool.invoke(new EvaluationTask<>(solutionList, problem, 0, solutionList.size(), batchSize));
+        return solutionList;
+    }
+
+    @Override
+    public void shutdown() {
+        pool.shutdown();
+    }
+
+    public int numberOfThreads() {
+        return pool.getParallelism();
+    }
+
+    // divide el rango [from, to) a la mitad hasta que entra en un bloque y lo evalua en secuencia
+    private static class EvaluationTask<S> extends RecursiveAction {
+        private final List<S> solutions;
+        private final Problem<S> problem;
+        private final int from;
+        private final int to;
+        private final int batchSize;
+
+        EvaluationTask(List<S> solutions, Problem<S> problem, int from, int to, int batchSize) {
+            this.solutions = solutions;
+            this.problem = problem;
+            this.from = from;
+            this.to = to;
+            this.batchSize = batchSize;
+        }
+
+        @Override
+        protected void compute() {
+            if (to - from <= batchSize) {
+                for (int i = from; i < to; i++) {
+                    problem.evaluate(solutions.get(i));
+                }
+                return;
+            }
+            int mid = (from + to) >>> 1;
+            invokeAll(new EvaluationTask<>(solutions, problem, from, mid, batchSize),
+                      new EvaluationTask<>(solutions, problem, mid, to, batchSize));
+        }
+    }
+}
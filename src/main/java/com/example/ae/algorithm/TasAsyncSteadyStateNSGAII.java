@@ -0,0 +1,433 @@
+package com.example.ae.algorithm;
+
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.Collections;
+import java.util.Comparator;
+import java.util.IdentityHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.ExecutionException;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Future;
+import java.util.concurrent.atomic.AtomicInteger;
+
+import org.uma.jmetal.operator.crossover.CrossoverOperator;
+import org.uma.jmetal.operator.mutation.MutationOperator;
+import org.uma.jmetal.problem.Problem;
+import org.uma.jmetal.solution.Solution;
+import org.uma.jmetal.util.pseudorandom.JMetalRandom;
+
+// NSGA-II asincronico de estado estacionario: cada hilo toma dos padres, genera y evalua los hijos
+// sin esperar a los demas, y los inserta en la poblacion compartida (protegida por un lock).
+// Los frentes se mantienen en forma incremental: al insertar se baja un frente a las soluciones
+// dominadas por la nueva (insercion tipo ENLU) y se descarta la de menor crowding del ultimo frente.
+// El crowding se recalcula solo en los frentes que cambiaron y el torneo lo usa para desempatar el rango
+public class TasAsyncSteadyStateNSGAII<S extends Solution<?>> implements AnytimeAlgorithm<S> {
+
+    private final Problem<S> problem;
+    private final int maxEvaluations;
+    private final int populationSize;
+    private final CrossoverOperator<S> crossoverOperator;
+    private final MutationOperator<S> mutationOperator;
+    private final Comparator<S> dominanceComparator;
+    private final int threads;
+    private final long seed;
+
+    // modo memetico (ver TasNSGAII.setLocalSearch)
+    private LocalSearch<S> localSearch;
+    private double localSearchRate = 0.0;
+
+    // criterios de parada y listeners del frente; se consultan cada populationSize inserciones (una "generacion")
+    private final List<TerminationCriterion<S>> terminationCriteria = new ArrayList<>();
+    private final List<FrontListener<S>> frontListeners = new ArrayList<>();
+    private volatile boolean stopped;
+    private int insertions;
+
+    // soluciones con las que arranca la poblacion inicial (se copian); el resto la crea el problema
+    private List<S> initialSolutions = Collections.emptyList();
+
+    // archivo externo al que se manda cada solucion evaluada (null = sin archivo)
+    private EpsilonArchive<S> archive;
+
+    // frentes no dominados (fronts.get(0) es el primero), rango y crowding de cada solucion; protegidos por 'this'
+    private final List<List<S>> fronts = new ArrayList<>();
+    private final Map<S, Integer> rank = new IdentityHashMap<>();
+    private final Map<S, Double> crowding = new IdentityHashMap<>();
+    private final List<S> population = new ArrayList<>();
+
+    // evaluaciones reservadas por los hilos y evaluaciones terminadas
+    private final AtomicInteger claimed = new AtomicInteger();
+    private final AtomicInteger evaluations = new AtomicInteger();
+
+    public TasAsyncSteadyStateNSGAII(Problem<S> problem,
+                                     int maxEvaluations,
+                                     int populationSize,
+                                     CrossoverOperator<S> crossoverOperator,
+                                     MutationOperator<S> mutationOperator,
+                                     Comparator<S> dominanceComparator,
+                                     int threads,
+                                     long seed) {
+        if (threads <= 0) {
+            throw new IllegalArgumentException("Number of threads must be positive: " + threads);
+        }
+        this.problem = problem;
+        this.maxEvaluations = maxEvaluations;
+        this.populationSize = populationSize;
+        this.crossoverOperator = crossoverOperator;
+        this.mutationOperator = mutationOperator;
+        this.dominanceComparator = dominanceComparator;
+        this.threads = threads;
+        this.seed = seed;
+    }
+
+    public void setLocalSearch(LocalSearch<S> localSearch, double rate) {
+        if (rate < 0 || rate > 1) {
+            throw new IllegalArgumentException("Local search rate must be in [0, 1]: " + rate);
+        }
+        this.localSearch = localSearch;
+        this.localSearchRate = rate;
+    }
+
+    public void addTerminationCriterion(TerminationCriterion<S> criterion) {
+        terminationCriteria.add(criterion);
+    }
+
+    public void setInitialSolutions(List<S> initialSolutions) {
+        this.initialSolutions = initialSolutions;
+    }
+
+    public void setArchive(EpsilonArchive<S> archive) {
+        this.archive = archive;
+    }
+
+    public void addFrontListener(FrontListener<S> listener) {
+        frontListeners.add(listener);
+    }
+
+    @Override
+    public void run() {
+        ThreadLocalRandomGenerator generator = ThreadLocalRandomGenerator.install(seed);
+
+        synchronized (this) {
+            fronts.clear();
+            rank.clear();
+            crowding.clear();
+            population.clear();
+            insertions = 0;
+        }
+        stopped = false;
+        for (TerminationCriterion<S> criterion : terminationCriteria) {
+            criterion.reset();
+        }
+        claimed.set(0);
+        evaluations.set(0);
+
+        ExecutorService pool = Executors.newFixedThreadPool(threads);
+        try {
+            // poblacion inicial: se evalua en paralelo y se inserta a medida que termina
+            List<Future<?>> pending = new ArrayList<>();
+            for (int i = 0; i < populationSize; i++) {
+                claimed.incrementAndGet();
+                S seed = (i < initialSolutions.size()) ? initialSolutions.get(i) : null;
+                pending.add(pool.submit(() -> {
+                    S solution = (seed != null) ? copyOf(seed) : problem.createSolution();
+                    problem.evaluate(solution);
+                    evaluations.incrementAndGet();
+                    if (archive != null) {
+                        archive.add(solution);
+                    }
+                    synchronized (this) {
+                        insert(solution);
+                    }
+                }));
+            }
+            await(pending);
+
+            pending.clear();
+            for (int i = 0; i < threads; i++) {
+                long workerSeed = ThreadLocalRandomGenerator.streamSeed(seed, i);
+                pending.add(pool.submit(() -> {
+                    generator.setSeed(workerSeed);
+                    work();
+                }));
+            }
+            await(pending);
+        } finally {
+            pool.shutdown();
+        }
+    }
+
+    @SuppressWarnings("unchecked")
+    private S copyOf(S solution) {
+        return (S) solution.copy();
+    }
+
+    private static void await(List<Future<?>> pending) {
+        try {
+            for (Future<?> future : pending) {
+                future.get();
+            }
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+            throw new IllegalStateException("Steady-state run interrupted", e);
+        } catch (ExecutionException e) {
+            throw new IllegalStateException("Steady-state worker failed", e.getCause());
+        }
+    }
+
+    // ciclo de cada hilo: seleccion (con lock), cruce, mutacion y evaluacion (sin lock), insercion (con lock)
+    private void work() {
+        int children = crossoverOperator.numberOfGeneratedChildren();
+        while (true) {
+            int budget = claimBudget(children);
+            if (budget == 0) {
+                return;
+            }
+
+            List<S> parents = new ArrayList<>(2);
+            synchronized (this) {
+                parents.add(tournament());
+                parents.add(tournament());
+            }
+
+            List<S> offspring = crossoverOperator.execute(parents);
+            for (int i = 0; i < budget; i++) {
+                S child = offspring.get(i);
+                mutationOperator.execute(child);
+                problem.evaluate(child);
+                evaluations.incrementAndGet();
+                if (localSearch != null && JMetalRandom.getInstance().nextDouble() < localSearchRate) {
+                    localSearch.improve(child);
+                }
+                if (archive != null) {
+                    archive.add(child);
+                }
+                synchronized (this) {
+                    insert(child);
+                    if (++insertions % populationSize == 0) {
+                        publishFront();
+                        checkTermination();
+                    }
+                }
+            }
+        }
+    }
+
+    private void publishFront() {
+        if (frontListeners.isEmpty()) {
+            return;
+        }
+        List<S> front = Collections.unmodifiableList(new ArrayList<>(fronts.get(0)));
+        for (FrontListener<S> listener : frontListeners) {
+            listener.onFront(front, evaluations.get());
+        }
+    }
+
+    private void checkTermination() {
+        for (TerminationCriterion<S> criterion : terminationCriteria) {
+            if (criterion.isMet(population, evaluations.get())) {
+                stopped = true;
+                return;
+            }
+        }
+    }
+
+    // reserva hasta 'wanted' evaluaciones del presupuesto; devuelve cuantas se obtuvieron
+    private int claimBudget(int wanted) {
+        while (!stopped) {
+            int current = claimed.get();
+            int granted = Math.min(wanted, maxEvaluations - current);
+            if (granted <= 0) {
+                return 0;
+            }
+            if (claimed.compareAndSet(current, current + granted)) {
+                return granted;
+            }
+        }
+        return 0;
+    }
+
+    // torneo binario con la comparacion de NSGA-II: menor rango y, a igual rango, mayor crowding (empate: al azar)
+    private S tournament() {
+        JMetalRandom random = JMetalRandom.getInstance();
+        S a = population.get(random.nextInt(0, population.size() - 1));
+        S b = population.get(random.nextInt(0, population.size() - 1));
+        int rankA = rank.get(a);
+        int rankB = rank.get(b);
+        if (rankA != rankB) {
+            return rankA < rankB ? a : b;
+        }
+        int cmp = Double.compare(crowding.get(a), crowding.get(b));
+        if (cmp != 0) {
+            return cmp > 0 ? a : b;
+        }
+        return random.nextDouble() < 0.5 ? a : b;
+    }
+
+    // insercion incremental: la solucion va al primer frente donde nadie la domina; las soluciones de ese
+    // frente que ella domina bajan al siguiente, y asi en cascada. Luego se recorta al tamaño de la poblacion
+    private void insert(S solution) {
+        int level = 0;
+        while (level < fronts.size() && isDominated(solution, fronts.get(level))) {
+            level++;
+        }
+        int firstChanged = level;
+
+        List<S> moved = new ArrayList<>();
+        moved.add(solution);
+        population.add(solution);
+
+        while (!moved.isEmpty()) {
+            if (level == fronts.size()) {
+                fronts.add(new ArrayList<>());
+            }
+            List<S> front = fronts.get(level);
+
+            List<S> dominated = new ArrayList<>();
+            for (int i = front.size() - 1; i >= 0; i--) {
+                S member = front.get(i);
+                for (S m : moved) {
+                    if (dominanceComparator.compare(m, member) < 0) {
+                        dominated.add(member);
+                        front.remove(i);
+                        break;
+                    }
+                }
+            }
+
+            for (S m : moved) {
+                front.add(m);
+                rank.put(m, level);
+            }
+            moved = dominated;
+            level++;
+        }
+
+        // solo cambiaron los frentes firstChanged .. level - 1
+        for (int i = firstChanged; i < level; i++) {
+            updateCrowding(fronts.get(i));
+        }
+
+        if (population.size() > populationSize) {
+            removeWorst();
+        }
+    }
+
+    private boolean isDominated(S solution, List<S> front) {
+        for (S member : front) {
+            if (dominanceComparator.compare(member, solution) < 0) {
+                return true;
+            }
+        }
+        return false;
+    }
+
+    // saca del ultimo frente la solucion con menor distancia de crowding (no cambia el rango de las demas)
+    private void removeWorst() {
+        List<S> last = fronts.get(fronts.size() - 1);
+        int worst = (last.size() <= 2) ? last.size() - 1 : lowestCrowding(last);
+
+        S removed = last.remove(worst);
+        if (last.isEmpty()) {
+            fronts.remove(fronts.size() - 1);
+        } else {
+            updateCrowding(last);
+        }
+        rank.remove(removed);
+        crowding.remove(removed);
+
+        // la poblacion no tiene orden, se reemplaza por el ultimo para no desplazar
+        int index = indexOf(population, removed);
+        population.set(index, population.get(population.size() - 1));
+        population.remove(population.size() - 1);
+    }
+
+    private static <S> int indexOf(List<S> list, S solution) {
+        for (int i = 0; i < list.size(); i++) {
+            if (list.get(i) == solution) {
+                return i;
+            }
+        }
+        throw new IllegalStateException("Solution is not in the population");
+    }
+
+    private int lowestCrowding(List<S> front) {
+        int worst = 0;
+        for (int i = 1; i < front.size(); i++) {
+            if (crowding.get(front.get(i)) < crowding.get(front.get(worst))) {
+                worst = i;
+            }
+        }
+        return worst;
+    }
+
+    private void updateCrowding(List<S> front) {
+        double[] distance = crowdingDistances(front);
+        for (int i = 0; i < distance.length; i++) {
+            crowding.put(front.get(i), distance[i]);
+        }
+    }
+
+    private static <S extends Solution<?>> double[] crowdingDistances(List<S> front) {
+        int size = front.size();
+        double[] distance = new double[size];
+        if (size <= 2) {
+            Arrays.fill(distance, Double.POSITIVE_INFINITY);
+            return distance;
+        }
+        int numObjectives = front.get(0).objectives().length;
+        Integer[] order = new Integer[size];
+
+        for (int m = 0; m < numObjectives; m++) {
+            final int objective = m;
+            for (int i = 0; i < size; i++) {
+                order[i] = i;
+            }
+            Arrays.sort(order, Comparator.comparingDouble(i -> front.get(i).objectives()[objective]));
+
+            double min = front.get(order[0]).objectives()[objective];
+            double max = front.get(order[size - 1]).objectives()[objective];
+            distance[order[0]] = Double.POSITIVE_INFINITY;
+            distance[order[size - 1]] = Double.POSITIVE_INFINITY;
+            if (max == min) {
+                continue;
+            }
+            for (int i = 1; i < size - 1; i++) {
+                double gap = front.get(order[i + 1]).objectives()[objective]
+                        - front.get(order[i - 1]).objectives()[objective];
+                distance[order[i]] += gap / (max - min);
+            }
+        }
+        return distance;
+    }
+
+    @Override
+    public synchronized List<S> result() {
+        return fronts.isEmpty() ? new ArrayList<>() : new ArrayList<>(fronts.get(0));
+    }
+
+    @Override
+    public List<S> currentFront() {
+        return result();
+    }
+
+    public synchronized List<S> getPopulation() {
+        return new ArrayList<>(population);
+    }
+
+    public int evaluations() {
+        return evaluations.get();
+    }
+
+    @Override
+    public String name() {
+        return "TasAsyncSteadyStateNSGAII";
+    }
+
+    @Override
+    public String description() {
+        return "Asynchronous steady-state NSGA-II with " + threads + " worker threads";
+    }
+}
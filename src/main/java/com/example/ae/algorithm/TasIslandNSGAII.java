@@ -0,0 +1,152 @@
+package com.example.ae.algorithm;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Queue;
+import java.util.concurrent.ConcurrentLinkedQueue;
+import java.util.concurrent.ExecutionException;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Future;
+
+import org.uma.jmetal.solution.Solution;
+import org.uma.jmetal.util.SolutionListUtils;
+import org.uma.jmetal.util.pseudorandom.JMetalRandom;
+
+// modelo de islas: cada isla es un NSGA-II independiente que corre en su propio hilo. Cada
+// 'migrationInterval' generaciones una isla manda copias de 'migrants' soluciones no dominadas a la
+// siguiente (topologia de anillo) a traves de una cola sin bloqueo, y recibe las que le llegaron en
+// lugar de sus peores individuos. El resultado es el frente no dominado de la union de las islas
+public class TasIslandNSGAII<S extends Solution<?>> implements AnytimeAlgorithm<S> {
+
+    private final List<TasNSGAII<S>> islands;
+    private final List<Queue<S>> inboxes;
+    private final int migrationInterval;
+    private final int migrants;
+    private final long seed;
+
+    public TasIslandNSGAII(List<TasNSGAII<S>> islands, int migrationInterval, int migrants, long seed) {
+        if (islands.isEmpty()) {
+            throw new IllegalArgumentException("At least one island is required");
+        }
+        if (migrationInterval <= 0) {
+            throw new IllegalArgumentException("Migration interval must be positive: " + migrationInterval);
+        }
+        this.islands = islands;
+        this.migrationInterval = migrationInterval;
+        this.migrants = migrants;
+        this.seed = seed;
+
+        this.inboxes = new ArrayList<>();
+        for (int i = 0; i < islands.size(); i++) {
+            inboxes.add(new ConcurrentLinkedQueue<>());
+        }
+        for (int i = 0; i < islands.size(); i++) {
+            Queue<S> inbox = inboxes.get(i);
+            Queue<S> outbox = inboxes.get((i + 1) % islands.size());
+            islands.get(i).addGenerationListener((algorithm, generation) -> {
+                if (generation % migrationInterval == 0) {
+                    migrate(algorithm.getPopulation(), inbox, outbox);
+                }
+            });
+        }
+    }
+
+    // se llama al final de cada generacion de cualquier isla con el frente conjunto y las evaluaciones totales
+    public void addFrontListener(FrontListener<S> listener) {
+        for (TasNSGAII<S> island : islands) {
+            island.addGenerationListener((algorithm, generation) -> listener.onFront(currentFront(), evaluations()));
+        }
+    }
+
+    @Override
+    public void run() {
+        // cada hilo usa su propio estado aleatorio (JMetalRandom es compartido)
+        ThreadLocalRandomGenerator generator = ThreadLocalRandomGenerator.install(seed);
+
+        ExecutorService pool = Executors.newFixedThreadPool(islands.size());
+        try {
+            List<Future<?>> running = new ArrayList<>();
+            for (int i = 0; i < islands.size(); i++) {
+                TasNSGAII<S> island = islands.get(i);
+                long islandSeed = ThreadLocalRandomGenerator.streamSeed(seed, i);
+                running.add(pool.submit(() -> {
+                    generator.setSeed(islandSeed);
+                    island.run();
+                }));
+            }
+            for (Future<?> island : running) {
+                island.get();
+            }
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+            throw new IllegalStateException("Island run interrupted", e);
+        } catch (ExecutionException e) {
+            throw new IllegalStateException("Island run failed", e.getCause());
+        } finally {
+            pool.shutdown();
+        }
+    }
+
+    @SuppressWarnings("unchecked")
+    private void migrate(List<S> population, Queue<S> inbox, Queue<S> outbox) {
+        JMetalRandom random = JMetalRandom.getInstance();
+
+        // emigrantes: copias de soluciones no dominadas elegidas al azar
+        List<S> front = SolutionListUtils.getNonDominatedSolutions(population);
+        for (int k = 0; k < Math.min(migrants, front.size()); k++) {
+            S chosen = front.get(random.nextInt(0, front.size() - 1));
+            outbox.offer((S) chosen.copy());
+        }
+
+        // inmigrantes: reemplazan el final de la poblacion, que tras el reemplazo de NSGA-II
+        // (ranking y crowding) queda ordenada de mejor a peor
+        int replaced = 0;
+        S immigrant;
+        while (replaced < population.size() && (immigrant = inbox.poll()) != null) {
+            population.set(population.size() - 1 - replaced, immigrant);
+            replaced++;
+        }
+    }
+
+    @Override
+    public List<S> result() {
+        List<S> merged = new ArrayList<>();
+        for (TasNSGAII<S> island : islands) {
+            merged.addAll(island.getPopulation());
+        }
+        return SolutionListUtils.getNonDominatedSolutions(merged);
+    }
+
+    // frente no dominado de la union de los frentes actuales de las islas (se puede llamar durante la ejecucion)
+    @Override
+    public List<S> currentFront() {
+        List<S> merged = new ArrayList<>();
+        for (TasNSGAII<S> island : islands) {
+            merged.addAll(island.currentFront());
+        }
+        return SolutionListUtils.getNonDominatedSolutions(merged);
+    }
+
+    public int evaluations() {
+        int total = 0;
+        for (TasNSGAII<S> island : islands) {
+            total += island.evaluations();
+        }
+        return total;
+    }
+
+    public List<TasNSGAII<S>> islands() {
+        return islands;
+    }
+
+    @Override
+    public String name() {
+        return "TasIslandNSGAII";
+    }
+
+    @Override
+    public String description() {
+        return "Island-model NSGA-II with " + islands.size() + " islands and ring migration";
+    }
+}
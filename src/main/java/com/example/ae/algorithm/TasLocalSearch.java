@@ -0,0 +1,161 @@
+package com.example.ae.algorithm;
+
+import java.util.concurrent.atomic.LongAdder;
+
+import org.uma.jmetal.solution.permutationsolution.PermutationSolution;
+import org.uma.jmetal.util.pseudorandom.JMetalRandom;
+
+import com.example.ae.decoder.DeltaEvaluator;
+import com.example.ae.model.CompiledTasInstance;
+import com.example.ae.problem.TasPermutationSolution;
+import com.example.ae.problem.TasProblem;
+
+// busqueda local por insercion / intercambio con evaluacion incremental: cada vecino se evalua
+// decodificando solo el sufijo que cambia (DeltaEvaluator). Un movimiento se acepta si domina a la
+// solucion actual o si mejora una suma ponderada de los objetivos (peso al azar en cada llamada,
+// objetivos normalizados por los de la solucion de partida). Es seguro para varios hilos
+public class TasLocalSearch implements LocalSearch<PermutationSolution<Integer>> {
+
+    private final CompiledTasInstance instance;
+    private final int moves;
+    private final ThreadLocal<DeltaEvaluator> evaluators;
+
+    // estadisticas
+    private final LongAdder fullDecodes = new LongAdder();
+    private final LongAdder moveEvaluations = new LongAdder();
+    private final LongAdder improvements = new LongAdder();
+    private final LongAdder skippedPositions = new LongAdder();
+
+    // moves = movimientos probados por llamada; checkpointInterval = cada cuantas posiciones se guarda
+    // el estado de la base (mas chico = sufijos mas cortos, mas memoria)
+    public TasLocalSearch(CompiledTasInstance instance, int moves, int checkpointInterval) {
+        if (moves < 0) {
+            throw new IllegalArgumentException("Number of moves is negative: " + moves);
+        }
+        this.instance = instance;
+        this.moves = moves;
+        this.evaluators = ThreadLocal.withInitial(() -> new DeltaEvaluator(instance, checkpointInterval));
+    }
+
+    @Override
+    public PermutationSolution<Integer> improve(PermutationSolution<Integer> solution) {
+        int n = instance.numberOfTasks();
+        if (n < 2 || moves == 0 || TasProblem.isEarlyAborted(solution)) {
+            return solution;
+        }
+
+        JMetalRandom random = JMetalRandom.getInstance();
+        DeltaEvaluator evaluator = evaluators.get();
+
+        double[] current = new double[2];
+        evaluator.setBase(permutationOf(solution), current);
+        fullDecodes.increment();
+
+        double weight = random.nextDouble();
+        double scale0 = Math.max(current[0], 1e-9);
+        double scale1 = Math.max(current[1], 1e-9);
+
+        int[] neighbor = new int[n];
+        double[] candidate = new double[2];
+        long skippedBefore = evaluator.skippedPositions();
+        int accepted = 0;
+
+        for (int m = 0; m < moves; m++) {
+            int i = random.nextInt(0, n - 1);
+            int j = random.nextInt(0, n - 1);
+            while (i == j) {
+                j = random.nextInt(0, n - 1);
+            }
+
+            System.arraycopy(evaluator.base(), 0, neighbor, 0, n);
+            if (random.nextDouble() < 0.5) {
+                swap(neighbor, i, j);
+            } else {
+                insert(neighbor, i, j);
+            }
+            int firstChanged = Math.min(i, j);
+
+            evaluator.evaluate(neighbor, firstChanged, candidate);
+
+            boolean dominates = candidate[0] <= current[0] && candidate[1] <= current[1]
+                    && (candidate[0] < current[0] || candidate[1] < current[1]);
+            double before = weight * current[0] / scale0 + (1.0 - weight) * current[1] / scale1;
+            double after = weight * candidate[0] / scale0 + (1.0 - weight) * candidate[1] / scale1;
+
+            if (dominates || after < before) {
+                evaluator.accept(neighbor, firstChanged);
+                current[0] = candidate[0];
+                current[1] = candidate[1];
+                accepted++;
+            }
+        }
+
+        moveEvaluations.add(moves);
+        improvements.add(accepted);
+        skippedPositions.add(evaluator.skippedPositions() - skippedBefore);
+
+        if (accepted > 0) {
+            write(solution, evaluator.base());
+            solution.objectives()[0] = current[0];
+            solution.objectives()[1] = current[1];
+        }
+        return solution;
+    }
+
+    private static int[] permutationOf(PermutationSolution<Integer> solution) {
+        if (solution instanceof TasPermutationSolution) {
+            return ((TasPermutationSolution) solution).permutation();
+        }
+        int[] pi = new int[solution.variables().size()];
+        for (int i = 0; i < pi.length; i++) {
+            pi[i] = solution.variables().get(i);
+        }
+        return pi;
+    }
+
+    private static void write(PermutationSolution<Integer> solution, int[] pi) {
+        if (solution instanceof TasPermutationSolution) {
+            System.arraycopy(pi, 0, ((TasPermutationSolution) solution).permutation(), 0, pi.length);
+            return;
+        }
+        for (int i = 0; i < pi.length; i++) {
+            solution.variables().set(i, pi[i]);
+        }
+    }
+
+    private static void swap(int[] pi, int i, int j) {
+        int tmp = pi[i];
+        pi[i] = pi[j];
+        pi[j] = tmp;
+    }
+
+    // mueve pi[from] a la posicion 'to' corriendo los intermedios
+    private static void insert(int[] pi, int from, int to) {
+        int gene = pi[from];
+        if (from < to) {
+            System.arraycopy(pi, from + 1, pi, from, to - from);
+        } else {
+            System.arraycopy(pi, to, pi, to + 1, from - to);
+        }
+        pi[to] = gene;
+    }
+
+    // decodificaciones completas (una por solucion mejorada)
+    public long fullDecodes() {
+        return fullDecodes.sum();
+    }
+
+    // vecinos evaluados en forma incremental
+    public long moveEvaluations() {
+        return moveEvaluations.sum();
+    }
+
+    public long improvements() {
+        return improvements.sum();
+    }
+
+    // posiciones de la permutacion que los vecinos no tuvieron que volver a decodificar
+    public long skippedPositions() {
+        return skippedPositions.sum();
+    }
+}
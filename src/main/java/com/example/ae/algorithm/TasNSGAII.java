@@ -0,0 +1,223 @@
+package com.example.ae.algorithm;
+
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.Comparator;
+import java.util.List;
+
+import org.uma.jmetal.algorithm.multiobjective.nsgaii.NSGAII;
+import org.uma.jmetal.operator.crossover.CrossoverOperator;
+import org.uma.jmetal.operator.mutation.MutationOperator;
+import org.uma.jmetal.operator.selection.SelectionOperator;
+import org.uma.jmetal.problem.Problem;
+import org.uma.jmetal.solution.Solution;
+import org.uma.jmetal.util.SolutionListUtils;
+import org.uma.jmetal.util.evaluator.SolutionListEvaluator;
+import org.uma.jmetal.util.pseudorandom.JMetalRandom;
+
+// NSGA-II de jMetal con ganchos por generacion (se construye con TasNSGAIIBuilder)
+public class TasNSGAII<S extends Solution<?>> extends NSGAII<S> implements AnytimeAlgorithm<S> {
+
+    private final List<GenerationListener<S>> listeners = new ArrayList<>();
+    private int generation = 0;
+
+    // modo memetico: busqueda local sobre cada solucion recien evaluada con probabilidad localSearchRate
+    private LocalSearch<S> localSearch;
+    private double localSearchRate = 0.0;
+
+    // criterios de parada ademas de maxEvaluations (basta con que se cumpla uno)
+    private final List<TerminationCriterion<S>> terminationCriteria = new ArrayList<>();
+    private TerminationCriterion<S> metCriterion;
+
+    // frente no dominado de la ultima generacion (para leerlo durante la ejecucion)
+    private final List<FrontListener<S>> frontListeners = new ArrayList<>();
+    private volatile List<S> currentFront = Collections.emptyList();
+
+    // reemplazo con el ranking O(N log N) de dos objetivos en lugar del fast non-dominated sort de jMetal
+    private boolean biObjectiveRanking = false;
+
+    // soluciones con las que arranca la poblacion inicial (se copian); el resto la crea el problema
+    private List<S> initialSolutions = Collections.emptyList();
+
+    // archivo externo al que se manda cada solucion evaluada (null = sin archivo)
+    private EpsilonArchive<S> archive;
+
+    // semilla que run() fija en su hilo (null = sigue con el estado aleatorio que ya tenga el hilo, p. ej. el
+    // de TasExperimentRunner o el de la isla). Los operadores y la busqueda local corren todos en ese hilo
+    private Long seed;
+
+    public TasNSGAII(Problem<S> problem,
+                     int maxEvaluations,
+                     int populationSize,
+                     int matingPoolSize,
+                     int offspringPopulationSize,
+                     CrossoverOperator<S> crossoverOperator,
+                     MutationOperator<S> mutationOperator,
+                     SelectionOperator<List<S>, S> selectionOperator,
+                     Comparator<S> dominanceComparator,
+                     SolutionListEvaluator<S> evaluator) {
+        super(problem, maxEvaluations, populationSize, matingPoolSize, offspringPopulationSize,
+                crossoverOperator, mutationOperator, selectionOperator, dominanceComparator, evaluator);
+    }
+
+    public void addGenerationListener(GenerationListener<S> listener) {
+        listeners.add(listener);
+    }
+
+    public void setLocalSearch(LocalSearch<S> localSearch, double rate) {
+        if (rate < 0 || rate > 1) {
+            throw new IllegalArgumentException("Local search rate must be in [0, 1]: " + rate);
+        }
+        this.localSearch = localSearch;
+        this.localSearchRate = rate;
+    }
+
+    // solo para problemas de dos objetivos sin restricciones. No guarda los atributos de ranking / crowding
+    // de jMetal, asi que la seleccion no debe depender de ellos (el torneo por dominancia no lo hace)
+    public void setBiObjectiveRanking(boolean biObjectiveRanking) {
+        this.biObjectiveRanking = biObjectiveRanking;
+    }
+
+    @Override
+    protected List<S> replacement(List<S> population, List<S> offspringPopulation) {
+        if (!biObjectiveRanking) {
+            return super.replacement(population, offspringPopulation);
+        }
+        List<S> jointPopulation = new ArrayList<>(population.size() + offspringPopulation.size());
+        jointPopulation.addAll(population);
+        jointPopulation.addAll(offspringPopulation);
+        return BiObjectiveRanking.select(jointPopulation, getMaxPopulationSize());
+    }
+
+    public void setInitialSolutions(List<S> initialSolutions) {
+        this.initialSolutions = initialSolutions;
+    }
+
+    @Override
+    @SuppressWarnings("unchecked")
+    protected List<S> createInitialPopulation() {
+        List<S> population = new ArrayList<>(getMaxPopulationSize());
+        for (S solution : initialSolutions) {
+            if (population.size() == getMaxPopulationSize()) {
+                break;
+            }
+            population.add((S) solution.copy());
+        }
+        while (population.size() < getMaxPopulationSize()) {
+            population.add(getProblem().createSolution());
+        }
+        return population;
+    }
+
+    public void setArchive(EpsilonArchive<S> archive) {
+        this.archive = archive;
+    }
+
+    public void addFrontListener(FrontListener<S> listener) {
+        frontListeners.add(listener);
+    }
+
+    public void setSeed(long seed) {
+        this.seed = seed;
+    }
+
+    public void addTerminationCriterion(TerminationCriterion<S> criterion) {
+        terminationCriteria.add(criterion);
+    }
+
+    // criterio que detuvo la ultima ejecucion (null si se agoto el presupuesto de evaluaciones)
+    public TerminationCriterion<S> metCriterion() {
+        return metCriterion;
+    }
+
+    @Override
+    protected boolean isStoppingConditionReached() {
+        if (super.isStoppingConditionReached()) {
+            return true;
+        }
+        for (TerminationCriterion<S> criterion : terminationCriteria) {
+            if (criterion.isMet(getPopulation(), evaluations)) {
+                metCriterion = criterion;
+                return true;
+            }
+        }
+        return false;
+    }
+
+    // las evaluaciones incrementales de la busqueda local no se descuentan del presupuesto de evaluaciones
+    @Override
+    protected List<S> evaluatePopulation(List<S> population) {
+        List<S> evaluated = super.evaluatePopulation(population);
+        if (localSearch != null && localSearchRate > 0.0) {
+            JMetalRandom random = JMetalRandom.getInstance();
+            for (S solution : evaluated) {
+                if (random.nextDouble() < localSearchRate) {
+                    localSearch.improve(solution);
+                }
+            }
+        }
+        if (archive != null) {
+            for (S solution : evaluated) {
+                archive.add(solution);
+            }
+        }
+        return evaluated;
+    }
+
+    // los criterios se reinician antes de crear la poblacion inicial, asi un limite de tiempo la incluye
+    @Override
+    public void run() {
+        metCriterion = null;
+        currentFront = Collections.emptyList();
+        for (TerminationCriterion<S> criterion : terminationCriteria) {
+            criterion.reset();
+        }
+        if (seed != null) {
+            ThreadLocalRandomGenerator.install(seed).setSeed(seed);
+        }
+        super.run();
+    }
+
+    @Override
+    protected void initProgress() {
+        super.initProgress();
+        generation = 0;
+        publishFront();
+    }
+
+    @Override
+    protected void updateProgress() {
+        super.updateProgress();
+        generation++;
+        publishFront();
+        for (GenerationListener<S> listener : listeners) {
+            listener.onGeneration(this, generation);
+        }
+    }
+
+    private void publishFront() {
+        currentFront = Collections.unmodifiableList(SolutionListUtils.getNonDominatedSolutions(getPopulation()));
+        for (FrontListener<S> listener : frontListeners) {
+            listener.onFront(currentFront, evaluations);
+        }
+    }
+
+    // seguro para leer desde otro hilo mientras corre
+    @Override
+    public List<S> currentFront() {
+        return currentFront;
+    }
+
+    public int generation() {
+        return generation;
+    }
+
+    public int evaluations() {
+        return evaluations;
+    }
+
+    @Override
+    public String name() {
+        return "TasNSGAII";
+    }
+}
@@ -0,0 +1,239 @@
+package com.example.ae.algorithm;
+
+import java.util.ArrayList;
+import java.util.Comparator;
+import java.util.List;
+import java.util.function.Supplier;
+
+import org.uma.jmetal.operator.crossover.CrossoverOperator;
+import org.uma.jmetal.operator.mutation.MutationOperator;
+import org.uma.jmetal.operator.selection.SelectionOperator;
+import org.uma.jmetal.operator.selection.impl.BinaryTournamentSelection;
+import org.uma.jmetal.problem.Problem;
+import org.uma.jmetal.solution.Solution;
+import org.uma.jmetal.util.comparator.dominanceComparator.impl.DefaultDominanceComparator;
+import org.uma.jmetal.util.evaluator.SolutionListEvaluator;
+import org.uma.jmetal.util.evaluator.impl.SequentialSolutionListEvaluator;
+
+// builder con la misma interfaz que NSGAIIBuilder de jMetal; ademas permite elegir el modelo de islas
+public class TasNSGAIIBuilder<S extends Solution<?>> {
+
+    private final Problem<S> problem;
+    private final CrossoverOperator<S> crossoverOperator;
+    private final MutationOperator<S> mutationOperator;
+    private final int populationSize;
+
+    private int maxEvaluations = 25000;
+    private int matingPoolSize;
+    private int offspringPopulationSize;
+    private SelectionOperator<List<S>, S> selectionOperator;
+    private Comparator<S> dominanceComparator = new DefaultDominanceComparator<>();
+    private SolutionListEvaluator<S> evaluator = new SequentialSolutionListEvaluator<>();
+
+    // modelo de islas (islands = 1 es NSGA-II comun)
+    private int islands = 1;
+    private int migrationInterval = 10;
+    private int migrants = 2;
+    private long seed = 1L;
+    private boolean seedSet = false;
+
+    // variante asincronica de estado estacionario (0 = generacional)
+    private int asyncThreads = 0;
+
+    // modo memetico (null = sin busqueda local)
+    private LocalSearch<S> localSearch;
+    private double localSearchRate = 0.0;
+
+    // criterios de parada adicionales; se crea uno nuevo por algoritmo (o isla) porque tienen estado
+    private final List<Supplier<TerminationCriterion<S>>> terminationCriteria = new ArrayList<>();
+    private final List<FrontListener<S>> frontListeners = new ArrayList<>();
+
+    // ranking O(N log N) de dos objetivos en el reemplazo (no aplica a la variante asincronica)
+    private boolean biObjectiveRanking = false;
+
+    // semillas de la poblacion inicial (vacio = todas las crea el problema)
+    private List<S> initialSolutions = new ArrayList<>();
+
+    // archivo epsilon compartido por todas las variantes (islas incluidas)
+    private EpsilonArchive<S> archive;
+
+    public TasNSGAIIBuilder(Problem<S> problem,
+                            CrossoverOperator<S> crossoverOperator,
+                            MutationOperator<S> mutationOperator,
+                            int populationSize) {
+        this.problem = problem;
+        this.crossoverOperator = crossoverOperator;
+        this.mutationOperator = mutationOperator;
+        this.populationSize = populationSize;
+        this.matingPoolSize = populationSize;
+        this.offspringPopulationSize = populationSize;
+        this.selectionOperator = new BinaryTournamentSelection<>(new DefaultDominanceComparator<>());
+    }
+
+    public TasNSGAIIBuilder<S> setMaxEvaluations(int maxEvaluations) {
+        if (maxEvaluations < 0) {
+            throw new IllegalArgumentException("maxEvaluations is negative: " + maxEvaluations);
+        }
+        this.maxEvaluations = maxEvaluations;
+        return this;
+    }
+
+    public TasNSGAIIBuilder<S> setMatingPoolSize(int matingPoolSize) {
+        this.matingPoolSize = matingPoolSize;
+        return this;
+    }
+
+    public TasNSGAIIBuilder<S> setOffspringPopulationSize(int offspringPopulationSize) {
+        this.offspringPopulationSize = offspringPopulationSize;
+        return this;
+    }
+
+    public TasNSGAIIBuilder<S> setSelectionOperator(SelectionOperator<List<S>, S> selectionOperator) {
+        this.selectionOperator = selectionOperator;
+        return this;
+    }
+
+    public TasNSGAIIBuilder<S> setDominanceComparator(Comparator<S> dominanceComparator) {
+        this.dominanceComparator = dominanceComparator;
+        return this;
+    }
+
+    // en el modelo de islas se ignora: cada isla evalua en su propio hilo de forma secuencial
+    public TasNSGAIIBuilder<S> setSolutionListEvaluator(SolutionListEvaluator<S> evaluator) {
+        this.evaluator = evaluator;
+        return this;
+    }
+
+    // islands > 1 activa el modelo de islas: el presupuesto de evaluaciones se reparte entre las islas
+    // y cada 'migrationInterval' generaciones cada isla envia 'migrants' soluciones a la siguiente
+    public TasNSGAIIBuilder<S> setIslands(int islands, int migrationInterval, int migrants) {
+        if (islands <= 0) {
+            throw new IllegalArgumentException("Number of islands must be positive: " + islands);
+        }
+        this.islands = islands;
+        this.migrationInterval = migrationInterval;
+        this.migrants = migrants;
+        return this;
+    }
+
+    // threads > 0 usa el NSGA-II asincronico de estado estacionario con esa cantidad de hilos de trabajo
+    // (no usa el evaluador de la poblacion: cada hilo evalua sus propios hijos)
+    public TasNSGAIIBuilder<S> setAsynchronous(int threads) {
+        if (threads < 0) {
+            throw new IllegalArgumentException("Number of threads is negative: " + threads);
+        }
+        this.asyncThreads = threads;
+        return this;
+    }
+
+    // modo memetico: cada solucion evaluada pasa por la busqueda local con probabilidad 'rate'
+    public TasNSGAIIBuilder<S> setLocalSearch(LocalSearch<S> localSearch, double rate) {
+        this.localSearch = localSearch;
+        this.localSearchRate = rate;
+        return this;
+    }
+
+    // se detiene antes de maxEvaluations si se cumple cualquiera de los criterios agregados
+    public TasNSGAIIBuilder<S> addTerminationCriterion(Supplier<TerminationCriterion<S>> criterion) {
+        terminationCriteria.add(criterion);
+        return this;
+    }
+
+    // limite de tiempo de reloj (se consulta por generacion); al cumplirse result() da el frente actual.
+    // millis <= 0 = sin limite
+    public TasNSGAIIBuilder<S> setTimeBudget(long millis) {
+        if (millis > 0) {
+            addTerminationCriterion(() -> new TimeBudget<>(millis));
+        }
+        return this;
+    }
+
+    // recibe el frente actual al final de cada generacion (en el modelo de islas, el frente conjunto)
+    public TasNSGAIIBuilder<S> addFrontListener(FrontListener<S> listener) {
+        frontListeners.add(listener);
+        return this;
+    }
+
+    // reemplaza el ranking general de jMetal por BiObjectiveRanking (solo problemas de dos objetivos)
+    public TasNSGAIIBuilder<S> setBiObjectiveRanking(boolean biObjectiveRanking) {
+        this.biObjectiveRanking = biObjectiveRanking;
+        return this;
+    }
+
+    // la poblacion inicial arranca con copias de estas soluciones (p. ej. de TasPopulationInitializer)
+    public TasNSGAIIBuilder<S> setInitialSolutions(List<S> initialSolutions) {
+        this.initialSolutions = initialSolutions;
+        return this;
+    }
+
+    // cada solucion evaluada se ofrece al archivo; el frente final se puede leer de archive.solutions()
+    public TasNSGAIIBuilder<S> setArchive(EpsilonArchive<S> archive) {
+        this.archive = archive;
+        return this;
+    }
+
+    // semilla de la corrida: el NSGA-II comun la fija en su hilo al arrancar y el modelo de islas o asincronico
+    // la usa como base (hilo i usa streamSeed(seed, i)). Sin llamarlo el NSGA-II comun sigue con el estado del
+    // hilo que lo corre (p. ej. el que fija TasExperimentRunner) y las otras variantes usan 1
+    public TasNSGAIIBuilder<S> setSeed(long seed) {
+        this.seed = seed;
+        this.seedSet = true;
+        return this;
+    }
+
+    public AnytimeAlgorithm<S> build() {
+        if (asyncThreads > 0) {
+            if (islands > 1) {
+                throw new IllegalStateException("The island model and the asynchronous variant cannot be combined");
+            }
+            TasAsyncSteadyStateNSGAII<S> algorithm = new TasAsyncSteadyStateNSGAII<>(problem, maxEvaluations,
+                    populationSize, crossoverOperator, mutationOperator, dominanceComparator, asyncThreads, seed);
+            if (localSearch != null) {
+                algorithm.setLocalSearch(localSearch, localSearchRate);
+            }
+            for (Supplier<TerminationCriterion<S>> criterion : terminationCriteria) {
+                algorithm.addTerminationCriterion(criterion.get());
+            }
+            frontListeners.forEach(algorithm::addFrontListener);
+            algorithm.setInitialSolutions(initialSolutions);
+            algorithm.setArchive(archive);
+            return algorithm;
+        }
+        if (islands == 1) {
+            return buildNSGAII();
+        }
+
+        List<TasNSGAII<S>> islandList = new ArrayList<>();
+        for (int i = 0; i < islands; i++) {
+            islandList.add(buildNSGAII(maxEvaluations / islands, new SequentialSolutionListEvaluator<>()));
+        }
+        TasIslandNSGAII<S> algorithm = new TasIslandNSGAII<>(islandList, migrationInterval, migrants, seed);
+        frontListeners.forEach(algorithm::addFrontListener);
+        return algorithm;
+    }
+
+    public TasNSGAII<S> buildNSGAII() {
+        TasNSGAII<S> algorithm = buildNSGAII(maxEvaluations, evaluator);
+        frontListeners.forEach(algorithm::addFrontListener);
+        if (seedSet) {
+            algorithm.setSeed(seed);
+        }
+        return algorithm;
+    }
+
+    private TasNSGAII<S> buildNSGAII(int evaluations, SolutionListEvaluator<S> solutionListEvaluator) {
+        TasNSGAII<S> algorithm = new TasNSGAII<>(problem, evaluations, populationSize, matingPoolSize,
+                offspringPopulationSize, crossoverOperator, mutationOperator, selectionOperator,
+                dominanceComparator, solutionListEvaluator);
+        if (localSearch != null) {
+            algorithm.setLocalSearch(localSearch, localSearchRate);
+        }
+        for (Supplier<TerminationCriterion<S>> criterion : terminationCriteria) {
+            algorithm.addTerminationCriterion(criterion.get());
+        }
+        algorithm.setInitialSolutions(initialSolutions);
+        algorithm.setBiObjectiveRanking(biObjectiveRanking);
+        algorithm.setArchive(archive);
+        return algorithm;
+    }
+}
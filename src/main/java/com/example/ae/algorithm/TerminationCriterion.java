@@ -0,0 +1,15 @@
+package com.example.ae.algorithm;
+
+import java.util.List;
+
+import org.uma.jmetal.solution.Solution;
+
+// criterio de parada ademas del presupuesto de evaluaciones; se consulta al final de cada generacion
+// con la poblacion actual. Puede tener estado, por eso se reinicia al empezar cada ejecucion
+public interface TerminationCriterion<S extends Solution<?>> {
+
+    default void reset() {
+    }
+
+    boolean isMet(List<S> population, int evaluations);
+}
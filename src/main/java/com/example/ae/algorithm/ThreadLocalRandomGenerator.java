@@ -0,0 +1,84 @@
+package com.example.ae.algorithm;
+
+import java.util.SplittableRandom;
+
+import org.uma.jmetal.util.pseudorandom.JMetalRandom;
+import org.uma.jmetal.util.pseudorandom.PseudoRandomGenerator;
+
+// generador para JMetalRandom con un estado independiente por hilo: los operadores de jMetal lo
+// comparten sin contencion y cada hilo puede fijar su propia semilla con setSeed
+public class ThreadLocalRandomGenerator implements PseudoRandomGenerator {
+
+    private final ThreadLocal<SplittableRandom> random;
+    private final ThreadLocal<Long> seed;
+
+    public ThreadLocalRandomGenerator(long defaultSeed) {
+        // cada hilo arranca con una semilla distinta derivada de la semilla por defecto
+        SplittableRandom seeds = new SplittableRandom(defaultSeed);
+        this.seed = ThreadLocal.withInitial(() -> {
+            synchronized (seeds) {
+                return seeds.nextLong();
+            }
+        });
+        this.random = ThreadLocal.withInitial(() -> new SplittableRandom(seed.get()));
+    }
+
+    // instala el generador en JMetalRandom si todavia no lo esta y lo devuelve. Queda instalado para el resto
+    // de la JVM y el generador anterior no se restaura: JMetalRandom es global y restaurarlo al terminar una
+    // corrida cambiaria el generador de las que siguen corriendo en otros hilos. defaultSeed solo cuenta en la
+    // primera instalacion; despues cada corrida fija la semilla de sus hilos con setSeed
+    public static synchronized ThreadLocalRandomGenerator install(long defaultSeed) {
+        JMetalRandom jMetalRandom = JMetalRandom.getInstance();
+        if (jMetalRandom.getRandomGenerator() instanceof ThreadLocalRandomGenerator) {
+            return (ThreadLocalRandomGenerator) jMetalRandom.getRandomGenerator();
+        }
+        ThreadLocalRandomGenerator generator = new ThreadLocalRandomGenerator(defaultSeed);
+        jMetalRandom.setRandomGenerator(generator);
+        return generator;
+    }
+
+    // semilla del flujo 'stream' (isla, hilo) de una corrida con semilla 'seed', mezclada con SplitMix64.
+    // Con seed + stream la isla i de la corrida r repetia la semilla de la isla i - 1 de la corrida r + 1
+    public static long streamSeed(long seed, int stream) {
+        long z = mix(seed + 0x9E3779B97F4A7C15L);
+        return mix(z + (stream + 1L) * 0x9E3779B97F4A7C15L);
+    }
+
+    private static long mix(long z) {
+        z = (z ^ (z >>> 30)) * 0xBF58476D1CE4E5B9L;
+        z = (z ^ (z >>> 27)) * 0x94D049BB133111EBL;
+        return z ^ (z >>> 31);
+    }
+
+    @Override
+    public int nextInt(int lowerBound, int upperBound) {
+        return lowerBound + random.get().nextInt(upperBound - lowerBound + 1);
+    }
+
+    @Override
+    public double nextDouble(double lowerBound, double upperBound) {
+        return lowerBound + random.get().nextDouble() * (upperBound - lowerBound);
+    }
+
+    @Override
+    public double nextDouble() {
+        return random.get().nextDouble();
+    }
+
+    // fija la semilla solo para el hilo actual
+    @Override
+    public void setSeed(long seed) {
+        this.seed.set(seed);
+        this.random.set(new SplittableRandom(seed));
+    }
+
+    @Override
+    public long getSeed() {
+        return seed.get();
+    }
+
+    @Override
+    public String getName() {
+        return "ThreadLocalRandomGenerator";
+    }
+}
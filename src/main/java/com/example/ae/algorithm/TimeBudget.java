@@ -0,0 +1,31 @@
+package com.example.ae.algorithm;
+
+import java.util.List;
+
+import org.uma.jmetal.solution.Solution;
+
+// limite de tiempo de reloj: se cumple cuando pasa el deadline (System.nanoTime) fijado al empezar la ejecucion.
+// Se consulta por generacion, asi que la ejecucion puede pasarse del limite en a lo sumo una generacion
+public class TimeBudget<S extends Solution<?>> implements TerminationCriterion<S> {
+
+    private final long budgetNanos;
+    private long deadline;
+
+    public TimeBudget(long budgetMillis) {
+        if (budgetMillis <= 0) {
+            throw new IllegalArgumentException("Time budget must be positive: " + budgetMillis);
+        }
+        this.budgetNanos = budgetMillis * 1_000_000L;
+        reset();
+    }
+
+    @Override
+    public void reset() {
+        deadline = System.nanoTime() + budgetNanos;
+    }
+
+    @Override
+    public boolean isMet(List<S> population, int evaluations) {
+        return System.nanoTime() - deadline >= 0;
+    }
+}
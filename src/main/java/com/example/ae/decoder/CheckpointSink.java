@@ -0,0 +1,6 @@
+package com.example.ae.decoder;
+
+// recibe el estado del decodificador en cada limite de checkpoint de la primera pasada
+interface CheckpointSink {
+    void onCheckpoint(int boundary, DecoderWorkspace ws, int scheduledCount);
+}
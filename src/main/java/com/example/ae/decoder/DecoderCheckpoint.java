@@ -0,0 +1,66 @@
+package com.example.ae.decoder;
+
+import java.util.Arrays;
+
+// foto del estado del decodificador antes de procesar la posicion 'boundary' en la primera pasada.
+// ese estado depende solo de pi[0 .. boundary), asi que sirve para cualquier permutacion con el mismo prefijo
+class DecoderCheckpoint {
+    private final int boundary;
+    private final int[] permutation;   // permutacion de origen (compartida entre sus checkpoints)
+
+    private final int scheduledCount;
+    private final int[] order;         // tareas planificadas, en orden
+    private final int[] employeeOf;    // alineados con order
+    private final int[] start;
+    private final int[] finish;
+
+    private final int[] employeeAvailableTime;
+    private final int[] employeeLoad;
+    private final int[] pendingPreds;
+
+    DecoderCheckpoint(int boundary, int[] permutation, DecoderWorkspace ws,
+                      int scheduledCount, int numTasks, int numEmployees) {
+        this.boundary = boundary;
+        this.permutation = permutation;
+        this.scheduledCount = scheduledCount;
+
+        this.order = Arrays.copyOf(ws.order, scheduledCount);
+        this.employeeOf = new int[scheduledCount];
+        this.start = new int[scheduledCount];
+        this.finish = new int[scheduledCount];
+        for (int i = 0; i < scheduledCount; i++) {
+            int t = order[i];
+            employeeOf[i] = ws.employeeOf[t];
+            start[i] = ws.start[t];
+            finish[i] = ws.finish[t];
+        }
+
+        this.employeeAvailableTime = Arrays.copyOf(ws.employeeAvailableTime, numEmployees);
+        this.employeeLoad = Arrays.copyOf(ws.employeeLoad, numEmployees);
+        this.pendingPreds = Arrays.copyOf(ws.pendingPreds, numTasks);
+    }
+
+    int boundary() {
+        return boundary;
+    }
+
+    // true si pi comparte el prefijo pi[0 .. boundary) con la permutacion de origen
+    boolean matchesPrefix(int[] pi) {
+        return Arrays.equals(permutation, 0, boundary, pi, 0, boundary);
+    }
+
+    // vuelca el estado en el workspace (employeeOf ya viene en -1) y devuelve la cantidad de tareas planificadas
+    int restore(DecoderWorkspace ws) {
+        for (int i = 0; i < scheduledCount; i++) {
+            int t = order[i];
+            ws.order[i] = t;
+            ws.employeeOf[t] = employeeOf[i];
+            ws.start[t] = start[i];
+            ws.finish[t] = finish[i];
+        }
+        System.arraycopy(employeeAvailableTime, 0, ws.employeeAvailableTime, 0, employeeAvailableTime.length);
+        System.arraycopy(employeeLoad, 0, ws.employeeLoad, 0, employeeLoad.length);
+        System.arraycopy(pendingPreds, 0, ws.pendingPreds, 0, pendingPreds.length);
+        return scheduledCount;
+    }
+}
@@ -0,0 +1,58 @@
+package com.example.ae.decoder;
+
+import com.example.ae.model.CompiledTasInstance;
+
+// estado reutilizable del decodificador: se reserva una vez por hilo y se reutiliza en cada evaluacion,
+// asi la evaluacion en regimen no genera basura
+class DecoderWorkspace {
+
+    private static final ThreadLocal<DecoderWorkspace> PER_THREAD =
+            ThreadLocal.withInitial(DecoderWorkspace::new);
+
+    // por indice de tarea
+    int[] position = new int[0];      // posicion en la permutacion
+    int[] pendingPreds = new int[0];  // predecesores aun sin planificar
+    int[] employeeOf = new int[0];    // indice del empleado asignado
+    int[] start = new int[0];
+    int[] finish = new int[0];
+
+    // tareas en el orden en que fueron planificadas
+    int[] order = new int[0];
+
+    // por indice de empleado
+    int[] employeeAvailableTime = new int[0];
+    int[] employeeLoad = new int[0];
+    double[] employeeOverqual = new double[0];
+
+    // objetivos parciales del decode con cota (ver TasDecoder.evaluateObjectives con DominanceBound)
+    int partialMakespan;
+    double partialDissatisfaction;
+
+    IntMinHeap currentPass = new IntMinHeap(1);
+    IntMinHeap nextPass = new IntMinHeap(1);
+
+    static DecoderWorkspace forThread(CompiledTasInstance ci) {
+        DecoderWorkspace ws = PER_THREAD.get();
+        ws.ensureCapacity(ci.numberOfTasks(), ci.numberOfEmployees());
+        return ws;
+    }
+
+    // solo reserva si la instancia es mas grande que la ultima vista
+    private void ensureCapacity(int numTasks, int numEmployees) {
+        if (position.length < numTasks) {
+            position = new int[numTasks];
+            pendingPreds = new int[numTasks];
+            employeeOf = new int[numTasks];
+            start = new int[numTasks];
+            finish = new int[numTasks];
+            order = new int[numTasks];
+            currentPass = new IntMinHeap(numTasks);
+            nextPass = new IntMinHeap(numTasks);
+        }
+        if (employeeLoad.length < numEmployees) {
+            employeeAvailableTime = new int[numEmployees];
+            employeeLoad = new int[numEmployees];
+            employeeOverqual = new double[numEmployees];
+        }
+    }
+}
@@ -0,0 +1,98 @@
+package com.example.ae.decoder;
+
+import java.util.Arrays;
+
+import com.example.ae.model.CompiledTasInstance;
+
+// evaluacion incremental de movimientos sobre una permutacion base: la base se decodifica una vez guardando
+// checkpoints cada 'interval' posiciones y un vecino que solo cambia desde la posicion p se decodifica
+// retomando el checkpoint mas profundo <= p, es decir solo el sufijo afectado. No es seguro para varios hilos
+public class DeltaEvaluator {
+
+    private final CompiledTasInstance ci;
+    private final int interval;
+
+    private int[] base;
+    private DecoderCheckpoint[] checkpoints;
+
+    // estadisticas
+    private long fullDecodes;
+    private long deltaDecodes;
+    private long skippedPositions;
+
+    public DeltaEvaluator(CompiledTasInstance ci, int interval) {
+        if (interval <= 0) {
+            throw new IllegalArgumentException("Checkpoint interval must be positive: " + interval);
+        }
+        this.ci = ci;
+        this.interval = interval;
+        this.checkpoints = new DecoderCheckpoint[ci.numberOfTasks() / interval + 1];
+    }
+
+    // fija la permutacion base (se copia) y escribe sus objetivos
+    public void setBase(int[] pi, double[] objectives) {
+        base = pi.clone();
+        Arrays.fill(checkpoints, null);
+
+        DecoderWorkspace ws = DecoderWorkspace.forThread(ci);
+        TasDecoder.run(base, ci, ws, null, interval, this::record);
+        TasDecoder.writeObjectives(ci, ws, objectives);
+        fullDecodes++;
+    }
+
+    // objetivos de un vecino que coincide con la base en las posiciones [0, firstChanged)
+    public void evaluate(int[] neighbor, int firstChanged, double[] objectives) {
+        DecoderWorkspace ws = DecoderWorkspace.forThread(ci);
+        DecoderCheckpoint resume = deepest(firstChanged);
+        TasDecoder.run(neighbor, ci, ws, resume, interval, null);
+        TasDecoder.writeObjectives(ci, ws, objectives);
+
+        deltaDecodes++;
+        if (resume != null) {
+            skippedPositions += resume.boundary();
+        }
+    }
+
+    // el vecino pasa a ser la base; los checkpoints anteriores a firstChanged siguen valiendo y
+    // solo se vuelve a decodificar el sufijo para regenerar los siguientes
+    public void accept(int[] neighbor, int firstChanged) {
+        DecoderCheckpoint resume = deepest(firstChanged);
+        int keep = (resume == null) ? 0 : resume.boundary() / interval + 1;
+        Arrays.fill(checkpoints, keep, checkpoints.length, null);
+        base = neighbor.clone();
+
+        DecoderWorkspace ws = DecoderWorkspace.forThread(ci);
+        TasDecoder.run(base, ci, ws, resume, interval, this::record);
+    }
+
+    public int[] base() {
+        return base;
+    }
+
+    private DecoderCheckpoint deepest(int position) {
+        for (int b = Math.min(position, ci.numberOfTasks() - 1) / interval; b > 0; b--) {
+            if (checkpoints[b] != null) {
+                return checkpoints[b];
+            }
+        }
+        return null;
+    }
+
+    private void record(int boundary, DecoderWorkspace ws, int scheduledCount) {
+        checkpoints[boundary / interval] = new DecoderCheckpoint(boundary, base, ws, scheduledCount,
+                ci.numberOfTasks(), ci.numberOfEmployees());
+    }
+
+    public long fullDecodes() {
+        return fullDecodes;
+    }
+
+    public long deltaDecodes() {
+        return deltaDecodes;
+    }
+
+    // posiciones de la permutacion que no hubo que volver a decodificar
+    public long skippedPositions() {
+        return skippedPositions;
+    }
+}
@@ -0,0 +1,63 @@
+package com.example.ae.decoder;
+
+import java.util.Arrays;
+import java.util.List;
+
+// cota para cortar el decode: conjunto de puntos (makespan, insatisfaccion) guardado como escalera (f1
+// creciente, f2 decreciente) para saber en O(log n) si alguno domina estrictamente a un vector parcial.
+// Es inmutable, asi que se puede compartir entre hilos y reemplazar entera cuando cambia el frente
+public final class DominanceBound {
+
+    private final double[] first;
+    private final double[] second;
+
+    private DominanceBound(double[] first, double[] second) {
+        this.first = first;
+        this.second = second;
+    }
+
+    // los puntos pueden venir desordenados y con dominados (se descartan)
+    public static DominanceBound of(List<double[]> points) {
+        double[][] sorted = points.toArray(new double[0][]);
+        Arrays.sort(sorted, (a, b) -> {
+            int cmp = Double.compare(a[0], b[0]);
+            return (cmp != 0) ? cmp : Double.compare(a[1], b[1]);
+        });
+
+        double[] first = new double[sorted.length];
+        double[] second = new double[sorted.length];
+        int size = 0;
+        for (double[] p : sorted) {
+            if (size == 0 || p[1] < second[size - 1]) {
+                first[size] = p[0];
+                second[size] = p[1];
+                size++;
+            }
+        }
+        return new DominanceBound(Arrays.copyOf(first, size), Arrays.copyOf(second, size));
+    }
+
+    // true si algun punto de la cota es <= en ambos objetivos y distinto de (f1, f2)
+    public boolean dominates(double f1, double f2) {
+        // ultimo escalon con first <= f1: es el de menor second entre ellos
+        int lo = 0;
+        int hi = first.length;
+        while (lo < hi) {
+            int mid = (lo + hi) >>> 1;
+            if (first[mid] <= f1) {
+                lo = mid + 1;
+            } else {
+                hi = mid;
+            }
+        }
+        if (lo == 0) {
+            return false;
+        }
+        int k = lo - 1;
+        return second[k] < f2 || (second[k] == f2 && first[k] < f1);
+    }
+
+    public int size() {
+        return first.length;
+    }
+}
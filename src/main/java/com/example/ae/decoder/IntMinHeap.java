@@ -0,0 +1,67 @@
+package com.example.ae.decoder;
+
+import java.util.Arrays;
+
+// heap binario minimo de enteros sin boxing (lo usa el decodificador para la cola de tareas listas)
+class IntMinHeap {
+    private int[] heap;
+    private int size;
+
+    IntMinHeap(int capacity) {
+        this.heap = new int[Math.max(1, capacity)];
+    }
+
+    boolean isEmpty() {
+        return size == 0;
+    }
+
+    int size() {
+        return size;
+    }
+
+    void clear() {
+        size = 0;
+    }
+
+    int peek() {
+        return heap[0];
+    }
+
+    void add(int value) {
+        if (size == heap.length) {
+            heap = Arrays.copyOf(heap, size * 2);
+        }
+        int i = size++;
+        while (i > 0) {
+            int parent = (i - 1) >>> 1;
+            if (heap[parent] <= value) {
+                break;
+            }
+            heap[i] = heap[parent];
+            i = parent;
+        }
+        heap[i] = value;
+    }
+
+    int poll() {
+        int min = heap[0];
+        int last = heap[--size];
+        int i = 0;
+        int half = size >>> 1;
+        while (i < half) {
+            int child = 2 * i + 1;
+            if (child + 1 < size && heap[child + 1] < heap[child]) {
+                child++;
+            }
+            if (last <= heap[child]) {
+                break;
+            }
+            heap[i] = heap[child];
+            i = child;
+        }
+        if (size > 0) {
+            heap[i] = last;
+        }
+        return min;
+    }
+}
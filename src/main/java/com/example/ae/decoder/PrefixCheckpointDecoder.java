@@ -0,0 +1,154 @@
+package com.example.ae.decoder;
+
+import java.util.LinkedHashMap;
+import java.util.Map;
+import java.util.concurrent.atomic.LongAdder;
+
+import com.example.ae.model.CompiledTasInstance;
+
+// decodificador que guarda checkpoints cada 'interval' posiciones de la permutacion y, para una nueva
+// permutacion, retoma desde el checkpoint mas profundo cuyo prefijo comparte (p. ej. un hijo de swap/PMX
+// con el prefijo de su padre). Los checkpoints se guardan por hilo en un LRU de capacidad acotada
+public class PrefixCheckpointDecoder {
+
+    private final CompiledTasInstance ci;
+    private final int interval;
+    private final int capacity;
+
+    private final ThreadLocal<Store> stores;
+
+    // estadisticas
+    private final LongAdder decodes = new LongAdder();
+    private final LongAdder resumed = new LongAdder();
+    private final LongAdder skippedPositions = new LongAdder();
+    private final LongAdder aborted = new LongAdder();
+
+    public PrefixCheckpointDecoder(CompiledTasInstance ci, int interval, int capacity) {
+        if (interval <= 0) {
+            throw new IllegalArgumentException("Checkpoint interval must be positive: " + interval);
+        }
+        this.ci = ci;
+        this.interval = interval;
+        this.capacity = capacity;
+        this.stores = ThreadLocal.withInitial(Store::new);
+    }
+
+    // igual que TasDecoder.evaluateObjectives, pero reutilizando prefijos ya decodificados
+    public void evaluateObjectives(int[] pi, double[] objectives) {
+        evaluateObjectives(pi, objectives, null);
+    }
+
+    // con cota de dominancia (null = sin cota); devuelve false si el decode se corto y objectives es parcial.
+    // Los checkpoints guardados antes del corte siguen valiendo porque solo dependen del prefijo
+    public boolean evaluateObjectives(int[] pi, double[] objectives, DominanceBound bound) {
+        DecoderWorkspace ws = DecoderWorkspace.forThread(ci);
+        Store store = stores.get();
+
+        store.prepare(pi);
+        DecoderCheckpoint resume = store.deepestMatch(pi);
+
+        decodes.increment();
+        if (resume != null) {
+            resumed.increment();
+            skippedPositions.add(resume.boundary());
+        }
+
+        if (!TasDecoder.run(pi, ci, ws, resume, interval, store, bound)) {
+            aborted.increment();
+            TasDecoder.writePartialObjectives(ws, objectives);
+            return false;
+        }
+        TasDecoder.writeObjectives(ci, ws, objectives);
+        return true;
+    }
+
+    public long decodes() {
+        return decodes.sum();
+    }
+
+    // decodificaciones que retomaron desde un checkpoint
+    public long resumedDecodes() {
+        return resumed.sum();
+    }
+
+    // posiciones de la permutacion que no hubo que volver a decodificar
+    public long skippedPositions() {
+        return skippedPositions.sum();
+    }
+
+    // decodificaciones cortadas por la cota de dominancia
+    public long abortedDecodes() {
+        return aborted.sum();
+    }
+
+    // checkpoints de un hilo, indexados por hash del prefijo (se verifica el prefijo al recuperarlos)
+    private class Store implements CheckpointSink {
+        private final Map<Long, DecoderCheckpoint> checkpoints =
+                new LinkedHashMap<Long, DecoderCheckpoint>(16, 0.75f, true) {
+                    @Override
+                    protected boolean removeEldestEntry(Map.Entry<Long, DecoderCheckpoint> eldest) {
+                        return size() > capacity;
+                    }
+                };
+
+        private long[] prefixKeys = new long[0];  // clave del prefijo para cada limite k * interval
+        private int[] current;                    // permutacion en curso (copia compartida por sus checkpoints)
+
+        void prepare(int[] pi) {
+            int n = ci.numberOfTasks();
+            int boundaries = n / interval + 1;
+            if (prefixKeys.length < boundaries) {
+                prefixKeys = new long[boundaries];
+            }
+            long h = 0x9E3779B97F4A7C15L;
+            for (int pos = 0; pos < n; pos++) {
+                if (pos % interval == 0) {
+                    prefixKeys[pos / interval] = mix(h ^ pos);
+                }
+                h = (h + pi[pos] + 1) * 0xBF58476D1CE4E5B9L;
+                h ^= h >>> 31;
+            }
+            current = null;
+        }
+
+        DecoderCheckpoint deepestMatch(int[] pi) {
+            int n = ci.numberOfTasks();
+            for (int b = ((n - 1) / interval) * interval; b > 0; b -= interval) {
+                DecoderCheckpoint cp = checkpoints.get(prefixKeys[b / interval]);
+                if (cp != null && cp.boundary() == b && cp.matchesPrefix(pi)) {
+                    return cp;
+                }
+            }
+            return null;
+        }
+
+        @Override
+        public void onCheckpoint(int boundary, DecoderWorkspace ws, int scheduledCount) {
+            long key = prefixKeys[boundary / interval];
+            if (checkpoints.get(key) != null) {
+                return;  // ya existe (mismo prefijo => mismo estado); get lo marca como reciente
+            }
+            if (current == null) {
+                current = copyOfCurrent(ws);
+            }
+            checkpoints.put(key, new DecoderCheckpoint(boundary, current, ws, scheduledCount,
+                    ci.numberOfTasks(), ci.numberOfEmployees()));
+        }
+
+        // reconstruye la permutacion en curso a partir de las posiciones del workspace
+        private int[] copyOfCurrent(DecoderWorkspace ws) {
+            int n = ci.numberOfTasks();
+            int[] pi = new int[n];
+            for (int t = 0; t < n; t++) {
+                pi[ws.position[t]] = t;
+            }
+            return pi;
+        }
+    }
+
+    private static long mix(long z) {
+        z = (z ^ (z >>> 30)) * 0xBF58476D1CE4E5B9L;
+        z = (z ^ (z >>> 27)) * 0x94D049BB133111EBL;
+        return z ^ (z >>> 31);
+    }
+}
@@ -1,88 +1,287 @@
 package com.example.ae.decoder;
 
-import com.example.ae.model.Employee;
+import com.example.ae.model.CompiledTasInstance;
 import com.example.ae.model.TasInstance;
-import com.example.ae.model.Task;
 
-import java.util.HashMap;
-import java.util.List;
-import java.util.Map;
+import java.util.Arrays;
 
 public class TasDecoder {
 
     public static TasSchedule decode(int[] pi, TasInstance instance) {
-        List<Task> tasks = instance.tasks();
-        List<Employee> employees = instance.employees();
+        return decode(pi, new CompiledTasInstance(instance));
+    }
 
-        int numTasks = tasks.size();
-        int numEmployees = employees.size();
+    public static TasSchedule decode(int[] pi, CompiledTasInstance ci) {
+        DecoderWorkspace ws = DecoderWorkspace.forThread(ci);
+        run(pi, ci, ws);
 
-        TasSchedule schedule = new TasSchedule(instance);
+        // volcar el resultado del workspace a un TasSchedule, en el orden de planificacion
+        TasSchedule schedule = new TasSchedule(ci);
+        for (int i = 0; i < ci.numberOfTasks(); i++) {
+            int t = ws.order[i];
+            schedule.assignTaskAt(t, ws.employeeOf[t], ws.start[t], ws.finish[t]);
+        }
 
-        // disponibilidad por empleado (tiempo final de la ultima tarea asignada)
-        int[] employeeAvailableTime = new int[numEmployees];
+        schedule.recomputeObjectives();
+        return schedule;
+    }
 
-        // mapa taskId -> index en lista de tareas
-        Map<Integer, Integer> taskIndexById = new HashMap<>();
-        for (int idx = 0; idx < numTasks; idx++) {
-            taskIndexById.put(tasks.get(idx).id(), idx);
+    // evalua solo los objetivos (makespan, insatisfaccion) y los escribe en objectives[0..1],
+    // sin construir el TasSchedule ni reservar memoria
+    public static void evaluateObjectives(int[] pi, CompiledTasInstance ci, double[] objectives) {
+        DecoderWorkspace ws = DecoderWorkspace.forThread(ci);
+        run(pi, ci, ws);
+        writeObjectives(ci, ws, objectives);
+    }
+
+    // como evaluateObjectives, pero corta apenas algun punto de 'bound' domina a los objetivos parciales
+    // (makespan e insatisfaccion parciales solo crecen al asignar tareas, asi que el resultado final tambien
+    // quedaria dominado). Devuelve false si corto; en ese caso objectives tiene los valores parciales,
+    // que son una cota inferior de los reales
+    public static boolean evaluateObjectives(int[] pi, CompiledTasInstance ci, double[] objectives,
+                                             DominanceBound bound) {
+        DecoderWorkspace ws = DecoderWorkspace.forThread(ci);
+        if (!run(pi, ci, ws, null, 0, null, bound)) {
+            writePartialObjectives(ws, objectives);
+            return false;
         }
+        writeObjectives(ci, ws, objectives);
+        return true;
+    }
 
-        boolean[] scheduled = new boolean[numTasks];
-        int scheduledCount = 0;
+    // orden en que el decodificador planificaria las tareas de pi (sin elegir empleados).
+    // dos permutaciones con el mismo orden producen exactamente el mismo schedule
+    public static void schedulingOrder(int[] pi, CompiledTasInstance ci, int[] order) {
+        DecoderWorkspace ws = DecoderWorkspace.forThread(ci);
+        int numTasks = ci.numberOfTasks();
+
+        int[] position = ws.position;
+        int[] pendingPreds = ws.pendingPreds;
+        IntMinHeap currentPass = ws.currentPass;
+        IntMinHeap nextPass = ws.nextPass;
+        currentPass.clear();
+        nextPass.clear();
+
+        // misma validacion que run: el orden puede terminar como clave de la cache
+        fillPositions(pi, numTasks, position);
+        for (int t = 0; t < numTasks; t++) {
+            pendingPreds[t] = ci.predecessorCount(t);
+            if (pendingPreds[t] == 0) {
+                currentPass.add(position[t]);
+            }
+        }
 
-        while (scheduledCount < numTasks) {
-            boolean progress = false;
+        for (int count = 0; count < numTasks; count++) {
+            if (currentPass.isEmpty()) {
+                if (nextPass.isEmpty()) {
+                    throw new IllegalStateException(
+                            "Decoder stalled: could not schedule all tasks. Check precedence or time windows.");
+                }
+                IntMinHeap tmp = currentPass;
+                currentPass = nextPass;
+                nextPass = tmp;
+            }
+
+            int cursor = currentPass.poll();
+            int taskIndex = pi[cursor];
+            order[count] = taskIndex;
 
-            for (int pos = 0; pos < numTasks; pos++) {
-                int taskIndex = pi[pos];
-                if (taskIndex < 0 || taskIndex >= numTasks) {
-                    throw new IllegalArgumentException("Permutation contains invalid task index: " + taskIndex);
+            for (int i = ci.successorsStart(taskIndex); i < ci.successorsEnd(taskIndex); i++) {
+                int succ = ci.successor(i);
+                if (--pendingPreds[succ] == 0) {
+                    if (position[succ] > cursor) {
+                        currentPass.add(position[succ]);
+                    } else {
+                        nextPass.add(position[succ]);
+                    }
                 }
-                if (scheduled[taskIndex]) {
-                    continue;
+            }
+        }
+    }
+
+    // position[t] = posicion de la tarea t en pi; falla si pi no es una permutacion de 0..numTasks-1
+    private static void fillPositions(int[] pi, int numTasks, int[] position) {
+        Arrays.fill(position, 0, numTasks, -1);
+        for (int pos = 0; pos < numTasks; pos++) {
+            int taskIndex = pi[pos];
+            if (taskIndex < 0 || taskIndex >= numTasks) {
+                throw new IllegalArgumentException("Permutation contains invalid task index: " + taskIndex);
+            }
+            if (position[taskIndex] != -1) {
+                throw new IllegalArgumentException("Permutation contains duplicate task index: " + taskIndex);
+            }
+            position[taskIndex] = pos;
+        }
+    }
+
+    // objetivos del ultimo decode que quedo en el workspace
+    static void writeObjectives(CompiledTasInstance ci, DecoderWorkspace ws, double[] objectives) {
+        int makespan = 0;
+        for (int t = 0; t < ci.numberOfTasks(); t++) {
+            if (ws.finish[t] > makespan) {
+                makespan = ws.finish[t];
+            }
+        }
+
+        objectives[0] = makespan;
+        objectives[1] = dissatisfaction(ci, ws);
+    }
+
+    // objetivos parciales con los que se corto el ultimo decode
+    static void writePartialObjectives(DecoderWorkspace ws, double[] objectives) {
+        objectives[0] = ws.partialMakespan;
+        objectives[1] = ws.partialDissatisfaction;
+    }
+
+    // misma formula que TasSchedule: Σ_e λ_over * overload_e + λ_overq * Σ_{t de e} overqual(t, e)
+    private static double dissatisfaction(CompiledTasInstance ci, DecoderWorkspace ws) {
+        int numEmployees = ci.numberOfEmployees();
+        for (int e = 0; e < numEmployees; e++) {
+            ws.employeeOverqual[e] = 0.0;
+        }
+        for (int t = 0; t < ci.numberOfTasks(); t++) {
+            int e = ws.employeeOf[t];
+            ws.employeeOverqual[e] += ci.overqualification(t, e);
+        }
+
+        double total = 0.0;
+        for (int e = 0; e < numEmployees; e++) {
+            double overload = Math.max(0.0, ws.employeeLoad[e] - ci.availableTime(e));
+            total += ci.lambdaOver() * overload + ci.lambdaOverq() * ws.employeeOverqual[e];
+        }
+        return total;
+    }
+
+    static void run(int[] pi, CompiledTasInstance ci, DecoderWorkspace ws) {
+        run(pi, ci, ws, null, 0, null);
+    }
+
+    // decodificacion: deja en el workspace empleado, inicio y fin de cada tarea y la carga de cada empleado.
+    // si resume != null se retoma desde ese checkpoint (pi debe compartir su prefijo); si sink != null se
+    // avisa en cada limite multiplo de checkpointInterval de la primera pasada, cuyo estado solo depende del prefijo
+    static void run(int[] pi, CompiledTasInstance ci, DecoderWorkspace ws,
+                    DecoderCheckpoint resume, int checkpointInterval, CheckpointSink sink) {
+        run(pi, ci, ws, resume, checkpointInterval, sink, null);
+    }
+
+    // con bound != null corta (y devuelve false) cuando algun punto de la cota domina a los objetivos parciales,
+    // que quedan en ws.partialMakespan y ws.partialDissatisfaction
+    static boolean run(int[] pi, CompiledTasInstance ci, DecoderWorkspace ws,
+                       DecoderCheckpoint resume, int checkpointInterval, CheckpointSink sink,
+                       DominanceBound bound) {
+        int numTasks = ci.numberOfTasks();
+        int numEmployees = ci.numberOfEmployees();
+
+        // disponibilidad por empleado (tiempo final de la ultima tarea asignada)
+        int[] employeeAvailableTime = ws.employeeAvailableTime;
+        int[] employeeLoad = ws.employeeLoad;
+
+        // tiempo de fin por indice de tarea
+        int[] finishTime = ws.finish;
+
+        // predecesores pendientes por tarea
+        int[] pendingPreds = ws.pendingPreds;
+
+        Arrays.fill(ws.employeeOf, 0, numTasks, -1);
+
+        int scheduledCount;
+        int startPosition;
+        if (resume != null) {
+            scheduledCount = resume.restore(ws);
+            startPosition = resume.boundary();
+        } else {
+            for (int e = 0; e < numEmployees; e++) {
+                employeeAvailableTime[e] = 0;
+                employeeLoad[e] = 0;
+            }
+            for (int t = 0; t < numTasks; t++) {
+                pendingPreds[t] = ci.predecessorCount(t);
+            }
+            scheduledCount = 0;
+            startPosition = 0;
+        }
+
+        // posicion de cada tarea en la permutacion
+        int[] position = ws.position;
+        fillPositions(pi, numTasks, position);
+
+        // cola de tareas listas ordenada por posicion. Se reproduce exactamente el recorrido por pasadas:
+        // una tarea que queda lista en una posicion posterior al cursor se toma en la pasada actual,
+        // si queda antes del cursor espera a la pasada siguiente
+        IntMinHeap currentPass = ws.currentPass;
+        IntMinHeap nextPass = ws.nextPass;
+        currentPass.clear();
+        nextPass.clear();
+
+        // tareas listas sin planificar; al retomar, las anteriores al punto de retorno esperan a la siguiente pasada
+        for (int t = 0; t < numTasks; t++) {
+            if (pendingPreds[t] == 0 && ws.employeeOf[t] == -1) {
+                if (position[t] >= startPosition) {
+                    currentPass.add(position[t]);
+                } else {
+                    nextPass.add(position[t]);
                 }
+            }
+        }
 
-                Task task = tasks.get(taskIndex);
+        if (bound != null) {
+            initPartialObjectives(ci, ws);
+        }
 
-                // comprobar que se haya finalizado la tarea anterior y calcular la fecha de inicio mas temprana.
-                boolean allPredScheduled = true;
-                int earliestStart = task.releaseDate(); // respetar release date
+        boolean firstPass = true;
+        int nextBoundary = (sink != null) ? (startPosition / checkpointInterval + 1) * checkpointInterval : numTasks;
 
-                for (Integer predId : task.predecessors()) {
-                    Integer predIndex = taskIndexById.get(predId);
-                    if (predIndex == null || !scheduled[predIndex]) {
-                        allPredScheduled = false;
-                        break;
-                    } else {
-                        Integer predFinish = schedule.getTaskFinishTime(predId);
-                        if (predFinish != null && predFinish > earliestStart) {
-                            earliestStart = predFinish;
-                        }
-                    }
+        while (scheduledCount < numTasks) {
+            // checkpoints de la primera pasada: antes de tomar cualquier posicion >= limite
+            while (firstPass && nextBoundary < numTasks
+                    && (currentPass.isEmpty() || currentPass.peek() >= nextBoundary)) {
+                sink.onCheckpoint(nextBoundary, ws, scheduledCount);
+                nextBoundary += checkpointInterval;
+            }
+
+            if (currentPass.isEmpty()) {
+                if (nextPass.isEmpty()) {
+                    throw new IllegalStateException(
+                            "Decoder stalled: could not schedule all tasks. Check precedence or time windows.");
                 }
+                // empezar una nueva pasada sobre la permutacion
+                IntMinHeap tmp = currentPass;
+                currentPass = nextPass;
+                nextPass = tmp;
+                firstPass = false;
+            }
+
+            int cursor = currentPass.poll();
+            int taskIndex = pi[cursor];
 
-                if (!allPredScheduled) {
-                    continue;
+            // fecha de inicio mas temprana: release date y fin de los predecesores (ya planificados)
+            int earliestStart = ci.releaseDate(taskIndex);
+            for (int i = ci.predecessorsStart(taskIndex); i < ci.predecessorsEnd(taskIndex); i++) {
+                int predFinish = finishTime[ci.predecessor(i)];
+                if (predFinish > earliestStart) {
+                    earliestStart = predFinish;
                 }
+            }
 
-                // elegir el mejor empleado para esta tarea
-                int bestEmpIndex = -1;
-                int bestStart = Integer.MAX_VALUE;
-                int bestFinish = Integer.MAX_VALUE;
-                double bestCost = Double.POSITIVE_INFINITY;
+            int duration = ci.duration(taskIndex);
 
-                for (int empIdx = 0; empIdx < numEmployees; empIdx++) {
-                    Employee e = employees.get(empIdx);
+            // elegir el mejor empleado para esta tarea
+            int bestEmpIndex = -1;
+            int bestStart = Integer.MAX_VALUE;
+            int bestFinish = Integer.MAX_VALUE;
+            double bestCost = Double.POSITIVE_INFINITY;
 
-                    if (!hasSkills(e, task)) {
-                        continue;
-                    }
+            // recorrer solo los empleados elegibles (bitset precalculado), en orden creciente de indice
+            for (int w = 0; w < ci.eligibilityWords(); w++) {
+                long bits = ci.eligibilityWord(taskIndex, w);
+                while (bits != 0) {
+                    int empIdx = (w << 6) + Long.numberOfTrailingZeros(bits);
+                    bits &= bits - 1;
 
                     int start = Math.max(earliestStart, employeeAvailableTime[empIdx]);
-                    int finish = start + task.duration();
+                    int finish = start + duration;
 
-                    double cost = localAssignmentCost(schedule, instance, e, task, start, finish);
+                    double cost = localAssignmentCost(employeeLoad, ci, empIdx, taskIndex, finish);
 
                     if (cost < bestCost) {
                         bestCost = cost;
@@ -91,84 +290,85 @@ public class TasDecoder {
                         bestFinish = finish;
                     }
                 }
+            }
 
-                if (bestEmpIndex == -1) {
-                    // ningun empleado disponible para esta tarea
-                    throw new IllegalStateException(
-                            "No feasible employee for task " + task.id() + " given current schedule");
-                }
-
-                Employee chosen = employees.get(bestEmpIndex);
-                schedule.assignTask(task.id(), chosen.id(), bestStart, bestFinish);
-                employeeAvailableTime[bestEmpIndex] = bestFinish;
+            if (bestEmpIndex == -1) {
+                // ningun empleado disponible para esta tarea
+                throw new IllegalStateException(
+                        "No feasible employee for task " + ci.taskId(taskIndex) + " given current schedule");
+            }
 
-                scheduled[taskIndex] = true;
-                scheduledCount++;
-                progress = true;
+            ws.employeeOf[taskIndex] = bestEmpIndex;
+            ws.start[taskIndex] = bestStart;
+            finishTime[taskIndex] = bestFinish;
+            employeeAvailableTime[bestEmpIndex] = bestFinish;
+            employeeLoad[bestEmpIndex] += duration;
+            ws.order[scheduledCount++] = taskIndex;
+
+            if (bound != null) {
+                int available = ci.availableTime(bestEmpIndex);
+                int loadAfter = employeeLoad[bestEmpIndex];
+                double overloadDelta = Math.max(0, loadAfter - available) - Math.max(0, loadAfter - duration - available);
+                ws.partialDissatisfaction += ci.lambdaOver() * overloadDelta
+                        + ci.lambdaOverq() * ci.overqualification(taskIndex, bestEmpIndex);
+                if (bestFinish > ws.partialMakespan) {
+                    ws.partialMakespan = bestFinish;
+                }
+                if (bound.dominates(ws.partialMakespan, ws.partialDissatisfaction)) {
+                    return false;
+                }
             }
 
-            if (!progress) {
-                throw new IllegalStateException(
-                        "Decoder stalled: could not schedule all tasks. Check precedence or time windows.");
+            // liberar sucesores
+            for (int i = ci.successorsStart(taskIndex); i < ci.successorsEnd(taskIndex); i++) {
+                int succ = ci.successor(i);
+                if (--pendingPreds[succ] == 0) {
+                    if (position[succ] > cursor) {
+                        currentPass.add(position[succ]);
+                    } else {
+                        nextPass.add(position[succ]);
+                    }
+                }
             }
         }
-
-        schedule.recomputeObjectives();
-        return schedule;
+        return true;
     }
 
-    // chequear la viabilidad de las skills: empSkill_k ≥ reqSkill_k para todo k donde reqSkill_k > 0
-    private static boolean hasSkills(Employee e, Task t) {
-        double[] empSkills = e.skills();
-        double[] reqSkills = t.requiredSkills();
-
-        int dim = Math.max(empSkills.length, reqSkills.length);
-        for (int k = 0; k < dim; k++) {
-            double required = (k < reqSkills.length) ? reqSkills[k] : 0.0;
-            if (required <= 0.0) {
-                continue;
-            }
-            double level = (k < empSkills.length) ? empSkills[k] : 0.0;
-            if (level < required) {
-                return false;
+    // objetivos de las tareas ya planificadas (al retomar un checkpoint no hay ninguna en cero)
+    private static void initPartialObjectives(CompiledTasInstance ci, DecoderWorkspace ws) {
+        int makespan = 0;
+        double overqual = 0.0;
+        for (int t = 0; t < ci.numberOfTasks(); t++) {
+            int e = ws.employeeOf[t];
+            if (e != -1) {
+                makespan = Math.max(makespan, ws.finish[t]);
+                overqual += ci.overqualification(t, e);
             }
         }
-        return true;
+        double overload = 0.0;
+        for (int e = 0; e < ci.numberOfEmployees(); e++) {
+            overload += Math.max(0.0, ws.employeeLoad[e] - ci.availableTime(e));
+        }
+        ws.partialMakespan = makespan;
+        ws.partialDissatisfaction = ci.lambdaOver() * overload + ci.lambdaOverq() * overqual;
     }
 
     // costo local, heuristica: finish time + λ_over * overload + λ_overq * Σ_k α_k * overqualification
 
-    private static double localAssignmentCost(TasSchedule schedule,
-                                              TasInstance instance,
-                                              Employee e,
-                                              Task task,
-                                              int start,
+    private static double localAssignmentCost(int[] employeeLoad,
+                                              CompiledTasInstance ci,
+                                              int empIdx,
+                                              int taskIndex,
                                               int finish) {
-        int loadBefore = schedule.getEmployeeLoad(e.id());
-        int loadAfter = loadBefore + task.duration();
+        int loadBefore = employeeLoad[empIdx];
+        int loadAfter = loadBefore + ci.duration(taskIndex);
 
-        double overload = Math.max(0.0, loadAfter - e.availableTime());
+        double overload = Math.max(0.0, loadAfter - ci.availableTime(empIdx));
 
-        double overqual = 0.0;
-        double[] empSkills = e.skills();
-        double[] reqSkills = task.requiredSkills();
-        int dim = Math.max(empSkills.length, reqSkills.length);
-
-        for (int k = 0; k < dim; k++) {
-            double required = (k < reqSkills.length) ? reqSkills[k] : 0.0;
-            if (required <= 0.0) {
-                continue;
-            }
-            double level = (k < empSkills.length) ? empSkills[k] : 0.0;
-            double diff = level - required;
-            if (diff > 0.0) {
-                double alpha = instance.skillWeightAlpha(k);
-                overqual += alpha * diff;
-            }
-        }
+        double overqual = ci.overqualification(taskIndex, empIdx);
 
-        double weightedOverload = instance.lambdaOver() * overload;
-        double weightedOverqual = instance.lambdaOverq() * overqual;
+        double weightedOverload = ci.lambdaOver() * overload;
+        double weightedOverqual = ci.lambdaOverq() * overqual;
 
         return finish + weightedOverload + weightedOverqual;
     }
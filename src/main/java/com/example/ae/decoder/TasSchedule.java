@@ -1,68 +1,172 @@
 package com.example.ae.decoder;
 
 import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.Collections;
 import java.util.Comparator;
 import java.util.HashMap;
 import java.util.List;
 import java.util.Map;
 
+import com.example.ae.model.CompiledTasInstance;
 import com.example.ae.model.Employee;
 import com.example.ae.model.TasInstance;
 import com.example.ae.model.Task;
 
 public class TasSchedule {
-    private Map<Integer, Integer> taskToEmployee = new HashMap<>();  // relaciona taskId con empId
     private TasInstance instance;
+    private CompiledTasInstance compiled;  // indices de tareas/empleados y tabla de sobrecalificacion
     private double dissatisfaction;
-    
-    // mapas para tiempos de inicio y fin por tarea
-    private Map<Integer, Integer> taskStartTime = new HashMap<>();
-    private Map<Integer, Integer> taskFinishTime = new HashMap<>();
+
+    // asignacion, inicio y fin por indice de tarea (employeeIdx = -1 si la tarea no esta asignada)
+    private final int[] employeeIdx;
+    private final int[] start;
+    private final int[] finish;
+
+    // carga por indice de empleado y lista enlazada de sus tareas (en orden de asignacion)
+    private final int[] employeeLoad;
+    private final int[] firstTask;
+    private final int[] lastTask;
+    private final int[] nextTask;
 
     private int makespan = 0;
 
     
     // constructor que recibe TasInstance
     public TasSchedule(TasInstance instance) {
-        this.instance = instance;
+        this(new CompiledTasInstance(instance));
+    }
+
+    public TasSchedule(CompiledTasInstance compiled) {
+        this.instance = compiled.source();
+        this.compiled = compiled;
+
+        int numTasks = compiled.numberOfTasks();
+        int numEmployees = compiled.numberOfEmployees();
+
+        this.employeeIdx = new int[numTasks];
+        this.start = new int[numTasks];
+        this.finish = new int[numTasks];
+        this.nextTask = new int[numTasks];
+        this.employeeLoad = new int[numEmployees];
+        this.firstTask = new int[numEmployees];
+        this.lastTask = new int[numEmployees];
+
+        Arrays.fill(employeeIdx, -1);
+        Arrays.fill(firstTask, -1);
+        Arrays.fill(lastTask, -1);
     }
 
     // agregar la asignacion de tarea a empleado
     public void addTaskToEmployee(int taskId, int empId) {
-        taskToEmployee.put(taskId, empId);
+        assignEmployeeAt(taskIndex(taskId), employeeIndex(empId));
     }
     
     // registrar una tarea: guarda empleado, inicio y fin
     public void assignTask(int taskId, int empId, int startTime, int finishTime) {
-        taskToEmployee.put(taskId, empId);
-        taskStartTime.put(taskId, startTime);
-        taskFinishTime.put(taskId, finishTime);
+        assignTaskAt(taskIndex(taskId), employeeIndex(empId), startTime, finishTime);
+    }
+
+    // igual que assignTask pero con indices de tarea y empleado (lo usa el decodificador)
+    public void assignTaskAt(int taskIndex, int empIndex, int startTime, int finishTime) {
+        assignEmployeeAt(taskIndex, empIndex);
+        start[taskIndex] = startTime;
+        finish[taskIndex] = finishTime;
         if (finishTime > makespan) {
             makespan = finishTime;
         }
     }
 
+    // mover la tarea (y su duracion) del empleado anterior, si habia, al nuevo
+    private void assignEmployeeAt(int taskIndex, int empIndex) {
+        int duration = compiled.duration(taskIndex);
+        int previous = employeeIdx[taskIndex];
+        if (previous == empIndex) {
+            return;
+        }
+        if (previous != -1) {
+            employeeLoad[previous] -= duration;
+            unlinkTask(previous, taskIndex);
+        }
+        employeeIdx[taskIndex] = empIndex;
+        employeeLoad[empIndex] += duration;
+
+        nextTask[taskIndex] = -1;
+        if (lastTask[empIndex] == -1) {
+            firstTask[empIndex] = taskIndex;
+        } else {
+            nextTask[lastTask[empIndex]] = taskIndex;
+        }
+        lastTask[empIndex] = taskIndex;
+    }
+
+    private void unlinkTask(int empIndex, int taskIndex) {
+        int prev = -1;
+        for (int t = firstTask[empIndex]; t != -1; prev = t, t = nextTask[t]) {
+            if (t != taskIndex) {
+                continue;
+            }
+            if (prev == -1) {
+                firstTask[empIndex] = nextTask[t];
+            } else {
+                nextTask[prev] = nextTask[t];
+            }
+            if (lastTask[empIndex] == t) {
+                lastTask[empIndex] = prev;
+            }
+            return;
+        }
+    }
+
     public int getTaskStartTime(int taskId) {
-        return taskStartTime.getOrDefault(taskId, 0);
+        int t = compiled.taskIndexOf(taskId);
+        return (t != -1 && employeeIdx[t] != -1) ? start[t] : 0;
     }
 
     public int getTaskFinishTime(int taskId) {
-        return taskFinishTime.getOrDefault(taskId, 0);
+        int t = compiled.taskIndexOf(taskId);
+        return (t != -1 && employeeIdx[t] != -1) ? finish[t] : 0;
     }
 
 
     // obtener la carga de trabajo de un empleado
     public int getEmployeeLoad(int empId) {
-        int load = 0;
-        for (Map.Entry<Integer,Integer> entry : taskToEmployee.entrySet()) {
-            int taskId = entry.getKey();
-            int assignedEmp = entry.getValue();
-            if (assignedEmp != empId) continue;
-
-            Task task = instance.getTaskById(taskId); // now safe
-            load += task.duration();
+        int e = compiled.employeeIndexOf(empId);
+        return (e != -1) ? employeeLoad[e] : 0;
+    }
+
+    // carga por indice de empleado (lo usa el decodificador)
+    public int getEmployeeLoadAt(int empIndex) {
+        return employeeLoad[empIndex];
+    }
+
+    // tareas asignadas a un empleado, en orden de asignacion
+    public List<Integer> getEmployeeTasks(int empId) {
+        int e = compiled.employeeIndexOf(empId);
+        if (e == -1) {
+            return Collections.emptyList();
+        }
+        List<Integer> assigned = new ArrayList<>();
+        for (int t = firstTask[e]; t != -1; t = nextTask[t]) {
+            assigned.add(compiled.taskId(t));
+        }
+        return assigned;
+    }
+
+    private int taskIndex(int taskId) {
+        int t = compiled.taskIndexOf(taskId);
+        if (t == -1) {
+            throw new IllegalArgumentException("Unknown task id: " + taskId);
+        }
+        return t;
+    }
+
+    private int employeeIndex(int empId) {
+        int e = compiled.employeeIndexOf(empId);
+        if (e == -1) {
+            throw new IllegalArgumentException("Unknown employee id: " + empId);
         }
-        return load;
+        return e;
     }
 
 
@@ -74,53 +178,34 @@ public class TasSchedule {
     // actualizar la insatisfaccion de un empleado
     public void recomputeObjectives() {
         int maxFinish = 0;
-        for (int finish : taskFinishTime.values()) {
-            if (finish > maxFinish) {
-                maxFinish = finish;
+        for (int t = 0; t < finish.length; t++) {
+            if (employeeIdx[t] != -1 && finish[t] > maxFinish) {
+                maxFinish = finish[t];
             }
         }
         this.makespan = maxFinish;
         this.dissatisfaction = computeDissatisfaction();
     }
     
+    // un solo recorrido de las asignaciones: acumula la sobrecalificacion por empleado y la combina con su carga
     private double computeDissatisfaction() {
-        double total = 0.0;
+        int numEmployees = compiled.numberOfEmployees();
+        double[] overqual = new double[numEmployees];
 
-        for (Employee e : instance.employees()) {
-            int empId = e.id();
-            int load = getEmployeeLoad(empId);
-
-            double overload = Math.max(0.0, load - e.availableTime());
-            double overqual = 0.0;
-
-            // Sum over all tasks assigned to this employee
-            for (Task t : instance.tasks()) {
-                Integer assigned = taskToEmployee.get(t.id());
-                if (assigned == null || assigned != empId) {
-                    continue;
-                }
-
-                double[] req = t.requiredSkills();
-                double[] empSkills = e.skills();
-                int dim = Math.max(req.length, empSkills.length);
-
-                for (int k = 0; k < dim; k++) {
-                    double required = (k < req.length) ? req[k] : 0.0;
-                    if (required <= 0.0) {
-                        continue; // skill not needed
-                    }
-                    double level = (k < empSkills.length) ? empSkills[k] : 0.0;
-                    double diff = level - required;
-                    if (diff > 0.0) {
-                        double alpha = instance.skillWeightAlpha(k);
-                        overqual += alpha * diff;
-                    }
-                }
+        for (int t = 0; t < employeeIdx.length; t++) {
+            int e = employeeIdx[t];
+            if (e != -1) {
+                overqual[e] += compiled.overqualification(t, e);
             }
+        }
+
+        double total = 0.0;
+        for (int e = 0; e < numEmployees; e++) {
+            double overload = Math.max(0.0, employeeLoad[e] - compiled.availableTime(e));
 
             double empDiss =
-                    instance.lambdaOver() * overload +
-                    instance.lambdaOverq() * overqual;
+                    compiled.lambdaOver() * overload +
+                    compiled.lambdaOverq() * overqual[e];
 
             total += empDiss;
         }
@@ -132,6 +217,12 @@ public class TasSchedule {
 
     // funcion para obtener el mapa de asignaciones de tareas a empleados
     public Map<Integer, Integer> getTaskToEmployee() {
+        Map<Integer, Integer> taskToEmployee = new HashMap<>();
+        for (int t = 0; t < employeeIdx.length; t++) {
+            if (employeeIdx[t] != -1) {
+                taskToEmployee.put(compiled.taskId(t), compiled.employeeId(employeeIdx[t]));
+            }
+        }
         return taskToEmployee;
     }
     
@@ -171,13 +262,8 @@ public class TasSchedule {
               .append(e.availableTime())
               .append("\n");
 
-            // recopilar tareas asignadas a este empleado
-            List<Integer> assignedTasks = new ArrayList<>();
-            for (Map.Entry<Integer, Integer> entry : taskToEmployee.entrySet()) {
-                if (entry.getValue() == empId) {
-                    assignedTasks.add(entry.getKey());
-                }
-            }
+            // tareas asignadas a este empleado
+            List<Integer> assignedTasks = new ArrayList<>(getEmployeeTasks(empId));
 
             if (assignedTasks.isEmpty()) {
                 sb.append("  (sin tareas)\n\n");
@@ -186,7 +272,8 @@ public class TasSchedule {
 
             // ordenarlas por tiempo de inicio
             assignedTasks.sort(
-                    Comparator.comparingInt(taskStartTime::get)
+                    Comparator.comparingInt((Integer taskId) -> getTaskStartTime(taskId))
+                              .thenComparingInt(taskId -> taskId)
             );
 
             for (Integer taskId : assignedTasks) {
@@ -217,7 +304,11 @@ public class TasSchedule {
 
     // devuelve el id del empleado asignado a una tarea (o null si no esta)
     public Integer getEmployeeOfTask(int taskId) {
-        return taskToEmployee.get(taskId);
+        int t = compiled.taskIndexOf(taskId);
+        if (t == -1 || employeeIdx[t] == -1) {
+            return null;
+        }
+        return compiled.employeeId(employeeIdx[t]);
     }
 
 }
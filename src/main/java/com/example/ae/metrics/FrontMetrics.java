@@ -0,0 +1,105 @@
+package com.example.ae.metrics;
+
+import java.util.ArrayList;
+import java.util.List;
+
+import org.uma.jmetal.problem.Problem;
+import org.uma.jmetal.solution.Solution;
+
+// metricas de calidad de frentes de dos objetivos (minimizacion): IGD y spread (Δ de Deb).
+// Los frentes son listas de vectores {f1, f2}; el frente de referencia suele ser la union no dominada
+// de todas las ejecuciones sobre la instancia
+public final class FrontMetrics {
+
+    private FrontMetrics() {
+    }
+
+    public static <S extends Solution<?>> List<double[]> objectives(List<S> solutions) {
+        List<double[]> points = new ArrayList<>(solutions.size());
+        for (S s : solutions) {
+            points.add(s.objectives().clone());
+        }
+        return points;
+    }
+
+    // punto de referencia como en results/hv_and_stats.py: el peor valor de cada objetivo mas eps
+    public static double[] referencePoint(List<double[]> points, double eps) {
+        double worst1 = Double.NEGATIVE_INFINITY;
+        double worst2 = Double.NEGATIVE_INFINITY;
+        for (double[] p : points) {
+            worst1 = Math.max(worst1, p[0]);
+            worst2 = Math.max(worst2, p[1]);
+        }
+        return new double[]{worst1 + eps, worst2 + eps};
+    }
+
+    // punto de referencia fijo para una instancia a partir de 'samples' soluciones aleatorias del problema
+    // (las soluciones del NSGA-II suelen quedar dentro; los puntos fuera no suman hipervolumen)
+    public static <S extends Solution<?>> double[] referencePoint(Problem<S> problem, int samples, double eps) {
+        List<double[]> points = new ArrayList<>(samples);
+        for (int i = 0; i < samples; i++) {
+            S s = problem.createSolution();
+            problem.evaluate(s);
+            points.add(s.objectives().clone());
+        }
+        return referencePoint(points, eps);
+    }
+
+    // IGD: distancia media de cada punto del frente de referencia al punto mas cercano del frente
+    public static double igd(List<double[]> front, List<double[]> referenceFront) {
+        if (front.isEmpty() || referenceFront.isEmpty()) {
+            return Double.POSITIVE_INFINITY;
+        }
+        double total = 0.0;
+        for (double[] r : referenceFront) {
+            double best = Double.POSITIVE_INFINITY;
+            for (double[] p : front) {
+                best = Math.min(best, distance(p, r));
+            }
+            total += best;
+        }
+        return total / referenceFront.size();
+    }
+
+    // spread Δ = (d_f + d_l + Σ|d_i - d̄|) / (d_f + d_l + (N - 1) d̄), con d_i las distancias entre vecinos
+    // consecutivos del frente y d_f, d_l las distancias a los extremos del frente de referencia
+    public static double spread(List<double[]> front, List<double[]> referenceFront) {
+        List<double[]> sorted = new ArrayList<>(front);
+        sorted.sort((a, b) -> {
+            int cmp = Double.compare(a[0], b[0]);
+            return (cmp != 0) ? cmp : Double.compare(a[1], b[1]);
+        });
+        List<double[]> reference = new ArrayList<>(referenceFront);
+        reference.sort((a, b) -> Double.compare(a[0], b[0]));
+
+        if (sorted.size() < 2) {
+            return 1.0;
+        }
+
+        double df = reference.isEmpty() ? 0.0 : distance(sorted.get(0), reference.get(0));
+        double dl = reference.isEmpty() ? 0.0 : distance(sorted.get(sorted.size() - 1), reference.get(reference.size() - 1));
+
+        int gaps = sorted.size() - 1;
+        double[] d = new double[gaps];
+        double mean = 0.0;
+        for (int i = 0; i < gaps; i++) {
+            d[i] = distance(sorted.get(i), sorted.get(i + 1));
+            mean += d[i];
+        }
+        mean /= gaps;
+
+        double deviation = 0.0;
+        for (double di : d) {
+            deviation += Math.abs(di - mean);
+        }
+
+        double denominator = df + dl + gaps * mean;
+        return (denominator == 0.0) ? 0.0 : (df + dl + deviation) / denominator;
+    }
+
+    private static double distance(double[] a, double[] b) {
+        double d0 = a[0] - b[0];
+        double d1 = a[1] - b[1];
+        return Math.sqrt(d0 * d0 + d1 * d1);
+    }
+}
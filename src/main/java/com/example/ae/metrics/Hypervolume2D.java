@@ -0,0 +1,97 @@
+package com.example.ae.metrics;
+
+import java.util.ArrayList;
+import java.util.Iterator;
+import java.util.List;
+import java.util.Map;
+import java.util.TreeMap;
+
+import org.uma.jmetal.solution.Solution;
+
+// hipervolumen de un frente de dos objetivos (minimizacion) mantenido en forma incremental.
+// Los puntos no dominados se guardan en un TreeMap f1 -> f2 (f2 decrece con f1, forma de escalera) y el
+// hipervolumen es la suma de los rectangulos (f1 siguiente - f1) * (ref2 - f2) de cada escalon.
+// Insertar un punto cuesta O(log n) mas los puntos que deja dominados (que salen una sola vez)
+public class Hypervolume2D {
+
+    private final double ref1;
+    private final double ref2;
+    private final TreeMap<Double, Double> front = new TreeMap<>();
+    private double hypervolume = 0.0;
+
+    public Hypervolume2D(double ref1, double ref2) {
+        this.ref1 = ref1;
+        this.ref2 = ref2;
+    }
+
+    // hipervolumen de un conjunto de soluciones (no hace falta que sean no dominadas)
+    public static <S extends Solution<?>> double of(List<S> solutions, double ref1, double ref2) {
+        Hypervolume2D hv = new Hypervolume2D(ref1, ref2);
+        for (S s : solutions) {
+            hv.add(s.objectives()[0], s.objectives()[1]);
+        }
+        return hv.hypervolume();
+    }
+
+    // agrega el punto si no esta dominado (ni repetido) y queda dentro del punto de referencia;
+    // devuelve true si el frente cambio
+    public boolean add(double f1, double f2) {
+        if (f1 >= ref1 || f2 >= ref2) {
+            return false;
+        }
+
+        Map.Entry<Double, Double> floor = front.floorEntry(f1);
+        if (floor != null && floor.getValue() <= f2) {
+            return false;
+        }
+
+        // el escalon anterior ahora termina en f1
+        Map.Entry<Double, Double> lower = front.lowerEntry(f1);
+        if (lower != null) {
+            hypervolume -= (nextFirst(lower.getKey()) - f1) * (ref2 - lower.getValue());
+        }
+
+        // quitar los escalones que el punto domina (f1' >= f1 y f2' >= f2, consecutivos desde f1)
+        Iterator<Map.Entry<Double, Double>> it = front.tailMap(f1, true).entrySet().iterator();
+        while (it.hasNext()) {
+            Map.Entry<Double, Double> e = it.next();
+            if (e.getValue() < f2) {
+                break;
+            }
+            hypervolume -= (nextFirst(e.getKey()) - e.getKey()) * (ref2 - e.getValue());
+            it.remove();
+        }
+
+        front.put(f1, f2);
+        hypervolume += (nextFirst(f1) - f1) * (ref2 - f2);
+        return true;
+    }
+
+    // f1 del escalon siguiente (o ref1 si es el ultimo)
+    private double nextFirst(double f1) {
+        Double next = front.higherKey(f1);
+        return (next != null) ? next : ref1;
+    }
+
+    public double hypervolume() {
+        return hypervolume;
+    }
+
+    public int size() {
+        return front.size();
+    }
+
+    // puntos no dominados en orden creciente de f1
+    public List<double[]> points() {
+        List<double[]> points = new ArrayList<>(front.size());
+        for (Map.Entry<Double, Double> e : front.entrySet()) {
+            points.add(new double[]{e.getKey(), e.getValue()});
+        }
+        return points;
+    }
+
+    public void clear() {
+        front.clear();
+        hypervolume = 0.0;
+    }
+}
@@ -0,0 +1,357 @@
+package com.example.ae.model;
+
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+
+// representacion compilada de una TasInstance indexada por posicion (indice de tarea / empleado)
+// se construye una sola vez y el decodificador trabaja solo con arrays primitivos
+public class CompiledTasInstance {
+    private final TasInstance source;
+
+    private final int numTasks;
+    private final int numEmployees;
+    private final int numSkills;
+
+    // datos de tareas por indice
+    private final int[] taskIds;
+    private final int[] durations;
+    private final int[] releaseDates;
+
+    // predecesores en formato CSR: los de la tarea t estan en predTargets[predOffsets[t] .. predOffsets[t+1])
+    private final int[] predOffsets;
+    private final int[] predTargets;
+
+    // sucesores en el mismo formato (adyacencia inversa)
+    private final int[] succOffsets;
+    private final int[] succTargets;
+
+    // datos de empleados por indice
+    private final int[] employeeIds;
+    private final int[] availableTimes;
+
+    // matrices de skills planas: [tarea * numSkills + k] y [empleado * numSkills + k]
+    private final double[] taskSkills;
+    private final double[] employeeSkills;
+
+    private final double[] skillWeightsAlpha;
+    private final double lambdaOver;
+    private final double lambdaOverq;
+
+    // vectores de skills empaquetados en un long (8 bits por skill), solo si todos los niveles son enteros
+    // en [0, MAX_PACKED_LEVEL] y hay a lo sumo SKILLS_PER_WORD skills; si no, packedSkills = false.
+    // Solo se usan al armar los bitsets de elegibilidad, que es lo que consulta el decodificador
+    private static final int SKILLS_PER_WORD = 8;
+    private static final int MAX_PACKED_LEVEL = 127;
+    private static final long LANE_HIGH_BITS = 0x8080808080808080L;
+
+    private final boolean packedSkills;
+    private final long[] packedTaskSkills;
+    private final long[] packedEmployeeSkills;
+
+    // empleados elegibles por tarea como bitset: palabras [tarea * eligibilityWords .. + eligibilityWords)
+    private final int eligibilityWords;
+    private final long[] eligibility;
+
+    // sobrecalificacion ponderada Σ_k α_k * max(0, empSkill_k - reqSkill_k) en [tarea * numEmployees + empleado]
+    private final double[] overqualification;
+
+    private final Map<Integer, Integer> taskIndexById;
+    private final Map<Integer, Integer> employeeIndexById;
+
+    public CompiledTasInstance(TasInstance instance) {
+        this.source = instance;
+
+        List<Task> tasks = instance.tasks();
+        List<Employee> employees = instance.employees();
+
+        this.numTasks = tasks.size();
+        this.numEmployees = employees.size();
+
+        // dimension comun de skills (los vectores mas cortos se completan con 0)
+        int dim = instance.numberOfSkills();
+        for (Task t : tasks) {
+            dim = Math.max(dim, t.requiredSkills().length);
+        }
+        for (Employee e : employees) {
+            dim = Math.max(dim, e.skills().length);
+        }
+        this.numSkills = dim;
+
+        this.taskIds = new int[numTasks];
+        this.durations = new int[numTasks];
+        this.releaseDates = new int[numTasks];
+        this.taskSkills = new double[numTasks * numSkills];
+        this.taskIndexById = new HashMap<>();
+
+        for (int t = 0; t < numTasks; t++) {
+            Task task = tasks.get(t);
+            taskIds[t] = task.id();
+            durations[t] = task.duration();
+            releaseDates[t] = task.releaseDate();
+            for (int k = 0; k < numSkills; k++) {
+                taskSkills[t * numSkills + k] = task.requiredSkill(k);
+            }
+            taskIndexById.put(task.id(), t);
+        }
+
+        // construir la adyacencia de predecesores por indice
+        this.predOffsets = new int[numTasks + 1];
+        for (int t = 0; t < numTasks; t++) {
+            List<Integer> preds = tasks.get(t).predecessors();
+            predOffsets[t + 1] = predOffsets[t] + (preds == null ? 0 : preds.size());
+        }
+        this.predTargets = new int[predOffsets[numTasks]];
+        for (int t = 0; t < numTasks; t++) {
+            List<Integer> preds = tasks.get(t).predecessors();
+            if (preds == null) {
+                continue;
+            }
+            int pos = predOffsets[t];
+            for (Integer predId : preds) {
+                Integer predIndex = taskIndexById.get(predId);
+                if (predIndex == null) {
+                    throw new IllegalArgumentException(
+                            "Task " + taskIds[t] + " has unknown predecessor " + predId);
+                }
+                predTargets[pos++] = predIndex;
+            }
+        }
+
+        this.succOffsets = new int[numTasks + 1];
+        for (int i = 0; i < predTargets.length; i++) {
+            succOffsets[predTargets[i] + 1]++;
+        }
+        for (int t = 0; t < numTasks; t++) {
+            succOffsets[t + 1] += succOffsets[t];
+        }
+        this.succTargets = new int[predTargets.length];
+        int[] fill = new int[numTasks];
+        for (int t = 0; t < numTasks; t++) {
+            for (int i = predOffsets[t]; i < predOffsets[t + 1]; i++) {
+                int p = predTargets[i];
+                succTargets[succOffsets[p] + fill[p]++] = t;
+            }
+        }
+
+        this.employeeIds = new int[numEmployees];
+        this.availableTimes = new int[numEmployees];
+        this.employeeSkills = new double[numEmployees * numSkills];
+        this.employeeIndexById = new HashMap<>();
+
+        for (int e = 0; e < numEmployees; e++) {
+            Employee emp = employees.get(e);
+            employeeIds[e] = emp.id();
+            availableTimes[e] = emp.availableTime();
+            employeeIndexById.put(emp.id(), e);
+            for (int k = 0; k < numSkills; k++) {
+                employeeSkills[e * numSkills + k] = emp.skill(k);
+            }
+        }
+
+        this.skillWeightsAlpha = new double[numSkills];
+        for (int k = 0; k < numSkills; k++) {
+            skillWeightsAlpha[k] = instance.skillWeightAlpha(k);
+        }
+        this.lambdaOver = instance.lambdaOver();
+        this.lambdaOverq = instance.lambdaOverq();
+
+        this.packedSkills = canPack();
+        this.packedTaskSkills = new long[packedSkills ? numTasks : 0];
+        this.packedEmployeeSkills = new long[packedSkills ? numEmployees : 0];
+        if (packedSkills) {
+            for (int t = 0; t < numTasks; t++) {
+                packedTaskSkills[t] = pack(taskSkills, t * numSkills);
+            }
+            for (int e = 0; e < numEmployees; e++) {
+                packedEmployeeSkills[e] = pack(employeeSkills, e * numSkills);
+            }
+        }
+
+        // precalcular elegibilidad y sobrecalificacion para cada par (tarea, empleado)
+        this.eligibilityWords = (numEmployees + 63) >>> 6;
+        this.eligibility = new long[numTasks * eligibilityWords];
+        this.overqualification = new double[numTasks * numEmployees];
+
+        for (int t = 0; t < numTasks; t++) {
+            for (int e = 0; e < numEmployees; e++) {
+                if (computeHasSkills(e, t)) {
+                    eligibility[t * eligibilityWords + (e >>> 6)] |= 1L << (e & 63);
+                }
+                overqualification[t * numEmployees + e] = computeOverqualification(e, t);
+            }
+        }
+    }
+
+    private boolean canPack() {
+        if (numSkills > SKILLS_PER_WORD) {
+            return false;
+        }
+        return isPackable(taskSkills) && isPackable(employeeSkills);
+    }
+
+    private static boolean isPackable(double[] levels) {
+        for (double level : levels) {
+            if (level != Math.rint(level) || level > MAX_PACKED_LEVEL) {
+                return false;
+            }
+        }
+        return true;
+    }
+
+    // un byte por skill; los niveles <= 0 se guardan como 0 (un requerimiento <= 0 no se exige,
+    // y un empleado con nivel <= 0 no cubre ningun requerimiento >= 1)
+    private long pack(double[] levels, int offset) {
+        long packed = 0L;
+        for (int k = 0; k < numSkills; k++) {
+            long level = (long) Math.max(0.0, levels[offset + k]);
+            packed |= level << (k * 8);
+        }
+        return packed;
+    }
+
+    // SWAR: en cada byte (emp | 0x80) - req conserva el bit alto sii emp >= req, sin acarreo entre bytes
+    // porque los niveles son <= 127. Los bytes sin skill valen 0 y siempre cumplen
+    private static boolean packedCovers(long packedEmployee, long packedRequired) {
+        return (((packedEmployee | LANE_HIGH_BITS) - packedRequired) & LANE_HIGH_BITS) == LANE_HIGH_BITS;
+    }
+
+    // chequear la viabilidad de las skills: empSkill_k ≥ reqSkill_k para todo k donde reqSkill_k > 0
+    private boolean computeHasSkills(int e, int t) {
+        if (packedSkills) {
+            return packedCovers(packedEmployeeSkills[e], packedTaskSkills[t]);
+        }
+        for (int k = 0; k < numSkills; k++) {
+            double required = taskSkills[t * numSkills + k];
+            if (required <= 0.0) {
+                continue;
+            }
+            if (employeeSkills[e * numSkills + k] < required) {
+                return false;
+            }
+        }
+        return true;
+    }
+
+    private double computeOverqualification(int e, int t) {
+        double overqual = 0.0;
+        for (int k = 0; k < numSkills; k++) {
+            double required = taskSkills[t * numSkills + k];
+            if (required <= 0.0) {
+                continue;
+            }
+            double diff = employeeSkills[e * numSkills + k] - required;
+            if (diff > 0.0) {
+                overqual += skillWeightsAlpha[k] * diff;
+            }
+        }
+        return overqual;
+    }
+
+
+    public TasInstance source() {
+        return source;
+    }
+
+    public int numberOfTasks() {
+        return numTasks;
+    }
+
+    public int numberOfEmployees() {
+        return numEmployees;
+    }
+
+    public int numberOfSkills() {
+        return numSkills;
+    }
+
+    public int taskId(int t) {
+        return taskIds[t];
+    }
+
+    // devuelve el indice de la tarea con ese id (o -1 si no existe)
+    public int taskIndexOf(int taskId) {
+        Integer idx = taskIndexById.get(taskId);
+        return (idx != null) ? idx : -1;
+    }
+
+    public int duration(int t) {
+        return durations[t];
+    }
+
+    public int releaseDate(int t) {
+        return releaseDates[t];
+    }
+
+    public int predecessorsStart(int t) {
+        return predOffsets[t];
+    }
+
+    public int predecessorsEnd(int t) {
+        return predOffsets[t + 1];
+    }
+
+    // i-esimo elemento del array CSR de predecesores (indice de tarea)
+    public int predecessor(int i) {
+        return predTargets[i];
+    }
+
+    // cantidad de predecesores (grado de entrada en el grafo de precedencias)
+    public int predecessorCount(int t) {
+        return predOffsets[t + 1] - predOffsets[t];
+    }
+
+    public int successorsStart(int t) {
+        return succOffsets[t];
+    }
+
+    public int successorsEnd(int t) {
+        return succOffsets[t + 1];
+    }
+
+    // i-esimo elemento del array CSR de sucesores (indice de tarea)
+    public int successor(int i) {
+        return succTargets[i];
+    }
+
+    public int employeeId(int e) {
+        return employeeIds[e];
+    }
+
+    // devuelve el indice del empleado con ese id (o -1 si no existe)
+    public int employeeIndexOf(int empId) {
+        Integer idx = employeeIndexById.get(empId);
+        return (idx != null) ? idx : -1;
+    }
+
+    public int availableTime(int e) {
+        return availableTimes[e];
+    }
+
+    public double skillWeightAlpha(int k) {
+        return skillWeightsAlpha[k];
+    }
+
+    // cantidad de palabras de 64 bits del bitset de elegibilidad de cada tarea
+    public int eligibilityWords() {
+        return eligibilityWords;
+    }
+
+    // palabra w del bitset de empleados elegibles para la tarea t (bit e = empleado w*64+e)
+    public long eligibilityWord(int t, int w) {
+        return eligibility[t * eligibilityWords + w];
+    }
+
+    // Σ_k α_k * sobrecalificacion del empleado e en la tarea t (sin λ_overq)
+    public double overqualification(int t, int e) {
+        return overqualification[t * numEmployees + e];
+    }
+
+    public double lambdaOver() {
+        return lambdaOver;
+    }
+
+    public double lambdaOverq() {
+        return lambdaOverq;
+    }
+}
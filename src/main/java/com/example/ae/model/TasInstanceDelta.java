@@ -0,0 +1,113 @@
+package com.example.ae.model;
+
+import java.util.ArrayList;
+import java.util.HashMap;
+import java.util.HashSet;
+import java.util.LinkedHashSet;
+import java.util.List;
+import java.util.Map;
+import java.util.Set;
+
+// cambios a una instancia (tareas nuevas o eliminadas, duraciones, tiempo disponible de empleados) para
+// reoptimizar sin recargar el JSON. applyTo arma una instancia nueva y no modifica la original
+public class TasInstanceDelta {
+
+    private final List<Task> addedTasks = new ArrayList<>();
+    private final Set<Integer> removedTasks = new HashSet<>();
+    private final Map<Integer, Integer> durations = new HashMap<>();
+    private final Map<Integer, Integer> availableTimes = new HashMap<>();
+
+    public void addTask(Task task) {
+        addedTasks.add(task);
+    }
+
+    // los sucesores de una tarea eliminada heredan sus predecesores (se conservan las precedencias indirectas)
+    public void removeTask(int taskId) {
+        removedTasks.add(taskId);
+    }
+
+    public void setDuration(int taskId, int duration) {
+        durations.put(taskId, duration);
+    }
+
+    public void setAvailableTime(int employeeId, int availableTime) {
+        availableTimes.put(employeeId, availableTime);
+    }
+
+    public boolean isEmpty() {
+        return addedTasks.isEmpty() && removedTasks.isEmpty() && durations.isEmpty() && availableTimes.isEmpty();
+    }
+
+    public TasInstance applyTo(TasInstance base) {
+        Map<Integer, Task> byId = new HashMap<>();
+        for (Task t : base.tasks()) {
+            byId.put(t.id(), t);
+        }
+        for (Task t : addedTasks) {
+            if (byId.put(t.id(), t) != null) {
+                throw new IllegalArgumentException("Task " + t.id() + " already exists");
+            }
+        }
+        for (Integer id : removedTasks) {
+            if (!byId.containsKey(id)) {
+                throw new IllegalArgumentException("Cannot remove unknown task " + id);
+            }
+        }
+        for (Integer id : durations.keySet()) {
+            if (!byId.containsKey(id) || removedTasks.contains(id)) {
+                throw new IllegalArgumentException("Cannot change duration of unknown task " + id);
+            }
+        }
+
+        List<Task> tasks = new ArrayList<>();
+        List<Task> candidates = new ArrayList<>(base.tasks());
+        candidates.addAll(addedTasks);
+        for (Task t : candidates) {
+            if (removedTasks.contains(t.id())) {
+                continue;
+            }
+            int duration = durations.getOrDefault(t.id(), t.duration());
+            tasks.add(new Task(t.id(), duration, resolvePredecessors(t, byId),
+                    t.requiredSkills(), t.releaseDate()));
+        }
+
+        Set<Integer> employeeIds = new HashSet<>();
+        List<Employee> employees = new ArrayList<>();
+        for (Employee e : base.employees()) {
+            employeeIds.add(e.id());
+            employees.add(new Employee(e.id(), e.skills(), availableTimes.getOrDefault(e.id(), e.availableTime())));
+        }
+        for (Integer id : availableTimes.keySet()) {
+            if (!employeeIds.contains(id)) {
+                throw new IllegalArgumentException("Cannot change available time of unknown employee " + id);
+            }
+        }
+
+        return new TasInstance(tasks, employees, base.skillWeightsAlpha(), base.lambdaOver(), base.lambdaOverq());
+    }
+
+    // predecesores de la tarea reemplazando las tareas eliminadas por sus propios predecesores
+    private List<Integer> resolvePredecessors(Task task, Map<Integer, Task> byId) {
+        Set<Integer> resolved = new LinkedHashSet<>();
+        List<Integer> pending = new ArrayList<>();
+        if (task.predecessors() != null) {
+            pending.addAll(task.predecessors());
+        }
+        Set<Integer> visited = new HashSet<>();
+        while (!pending.isEmpty()) {
+            Integer id = pending.remove(pending.size() - 1);
+            if (!visited.add(id)) {
+                continue;
+            }
+            if (!removedTasks.contains(id)) {
+                resolved.add(id);
+                continue;
+            }
+            Task removed = byId.get(id);
+            if (removed != null && removed.predecessors() != null) {
+                pending.addAll(removed.predecessors());
+            }
+        }
+        return new ArrayList<>(resolved);
+    }
+}
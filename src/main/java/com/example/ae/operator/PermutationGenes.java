@@ -0,0 +1,35 @@
+package com.example.ae.operator;
+
+import org.uma.jmetal.solution.permutationsolution.PermutationSolution;
+
+import com.example.ae.problem.TasPermutationSolution;
+
+// acceso a los genes como int[]: directo para TasPermutationSolution, copiando para otras implementaciones
+final class PermutationGenes {
+
+    private PermutationGenes() {
+    }
+
+    static int[] read(PermutationSolution<Integer> solution) {
+        if (solution instanceof TasPermutationSolution) {
+            return ((TasPermutationSolution) solution).permutation();
+        }
+        int n = solution.variables().size();
+        int[] genes = new int[n];
+        for (int i = 0; i < n; i++) {
+            genes[i] = solution.variables().get(i);
+        }
+        return genes;
+    }
+
+    // vuelca los genes en la solucion si read() devolvio una copia
+    static void write(PermutationSolution<Integer> solution, int[] genes) {
+        if (solution instanceof TasPermutationSolution
+                && ((TasPermutationSolution) solution).permutation() == genes) {
+            return;
+        }
+        for (int i = 0; i < genes.length; i++) {
+            solution.variables().set(i, genes[i]);
+        }
+    }
+}
@@ -0,0 +1,121 @@
+package com.example.ae.operator;
+
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.List;
+
+import org.uma.jmetal.operator.crossover.CrossoverOperator;
+import org.uma.jmetal.solution.permutationsolution.PermutationSolution;
+import org.uma.jmetal.util.pseudorandom.JMetalRandom;
+
+// PMX (partially mapped crossover) igual al de jMetal, pero trabajando sobre int[] sin boxing
+public class TasPMXCrossover implements CrossoverOperator<PermutationSolution<Integer>> {
+
+    private final double crossoverProbability;
+
+    public TasPMXCrossover(double crossoverProbability) {
+        if (crossoverProbability < 0 || crossoverProbability > 1) {
+            throw new IllegalArgumentException("Crossover probability must be in [0, 1]: " + crossoverProbability);
+        }
+        this.crossoverProbability = crossoverProbability;
+    }
+
+    @Override
+    public double crossoverProbability() {
+        return crossoverProbability;
+    }
+
+    @Override
+    public int numberOfRequiredParents() {
+        return 2;
+    }
+
+    @Override
+    public int numberOfGeneratedChildren() {
+        return 2;
+    }
+
+    @Override
+    @SuppressWarnings("unchecked")
+    public List<PermutationSolution<Integer>> execute(List<PermutationSolution<Integer>> parents) {
+        if (parents.size() != 2) {
+            throw new IllegalArgumentException("PMX needs two parents, got " + parents.size());
+        }
+
+        PermutationSolution<Integer> child1 = (PermutationSolution<Integer>) parents.get(0).copy();
+        PermutationSolution<Integer> child2 = (PermutationSolution<Integer>) parents.get(1).copy();
+
+        JMetalRandom random = JMetalRandom.getInstance();
+        if (random.nextDouble() < crossoverProbability) {
+            int[] parent1 = PermutationGenes.read(parents.get(0));
+            int[] parent2 = PermutationGenes.read(parents.get(1));
+            int[] offspring1 = PermutationGenes.read(child1);
+            int[] offspring2 = PermutationGenes.read(child2);
+
+            pmx(parent1, parent2, offspring1, offspring2, random);
+
+            PermutationGenes.write(child1, offspring1);
+            PermutationGenes.write(child2, offspring2);
+        }
+
+        List<PermutationSolution<Integer>> offspring = new ArrayList<>(2);
+        offspring.add(child1);
+        offspring.add(child2);
+        return offspring;
+    }
+
+    // offspring1/offspring2 llegan como copias de parent1/parent2
+    private static void pmx(int[] parent1, int[] parent2, int[] offspring1, int[] offspring2, JMetalRandom random) {
+        int n = parent1.length;
+        if (n < 2) {
+            return;
+        }
+
+        int cut1 = random.nextInt(0, n - 1);
+        int cut2 = random.nextInt(0, n - 1);
+        while (cut2 == cut1) {
+            cut2 = random.nextInt(0, n - 1);
+        }
+        if (cut1 > cut2) {
+            int tmp = cut1;
+            cut1 = cut2;
+            cut2 = tmp;
+        }
+
+        int[] replacement1 = new int[n];
+        int[] replacement2 = new int[n];
+        Arrays.fill(replacement1, -1);
+        Arrays.fill(replacement2, -1);
+
+        // intercambiar el segmento central y registrar el mapeo
+        for (int i = cut1; i <= cut2; i++) {
+            offspring1[i] = parent2[i];
+            offspring2[i] = parent1[i];
+            replacement1[parent2[i]] = parent1[i];
+            replacement2[parent1[i]] = parent2[i];
+        }
+
+        // fuera del segmento, seguir el mapeo hasta un gen que no este repetido
+        for (int i = 0; i < n; i++) {
+            if (i >= cut1 && i <= cut2) {
+                continue;
+            }
+            int n1 = parent1[i];
+            int m1 = replacement1[n1];
+            int n2 = parent2[i];
+            int m2 = replacement2[n2];
+
+            while (m1 != -1) {
+                n1 = m1;
+                m1 = replacement1[m1];
+            }
+            while (m2 != -1) {
+                n2 = m2;
+                m2 = replacement2[m2];
+            }
+
+            offspring1[i] = n1;
+            offspring2[i] = n2;
+        }
+    }
+}
@@ -0,0 +1,106 @@
+package com.example.ae.operator;
+
+import java.util.ArrayList;
+import java.util.List;
+
+import org.uma.jmetal.operator.crossover.CrossoverOperator;
+import org.uma.jmetal.solution.permutationsolution.PermutationSolution;
+import org.uma.jmetal.util.pseudorandom.JMetalRandom;
+
+import com.example.ae.model.CompiledTasInstance;
+
+// PPX (precedence preserving crossover): una mascara aleatoria indica de que padre sale cada gen, y se toma
+// el primer gen de ese padre que todavia no esta en el hijo. Si los padres estan en orden topologico los
+// hijos tambien; los padres que no lo estan se reparan antes (sin cambiar su evaluacion)
+public class TasPrecedencePreservingCrossover implements CrossoverOperator<PermutationSolution<Integer>> {
+
+    private final double crossoverProbability;
+    private final CompiledTasInstance instance;
+
+    public TasPrecedencePreservingCrossover(double crossoverProbability, CompiledTasInstance instance) {
+        if (crossoverProbability < 0 || crossoverProbability > 1) {
+            throw new IllegalArgumentException("Crossover probability must be in [0, 1]: " + crossoverProbability);
+        }
+        this.crossoverProbability = crossoverProbability;
+        this.instance = instance;
+    }
+
+    @Override
+    public double crossoverProbability() {
+        return crossoverProbability;
+    }
+
+    @Override
+    public int numberOfRequiredParents() {
+        return 2;
+    }
+
+    @Override
+    public int numberOfGeneratedChildren() {
+        return 2;
+    }
+
+    @Override
+    @SuppressWarnings("unchecked")
+    public List<PermutationSolution<Integer>> execute(List<PermutationSolution<Integer>> parents) {
+        if (parents.size() != 2) {
+            throw new IllegalArgumentException("PPX needs two parents, got " + parents.size());
+        }
+
+        PermutationSolution<Integer> child1 = (PermutationSolution<Integer>) parents.get(0).copy();
+        PermutationSolution<Integer> child2 = (PermutationSolution<Integer>) parents.get(1).copy();
+
+        // los hijos arrancan como copias de los padres: se reparan y sirven de padres para el cruce
+        int[] offspring1 = PermutationGenes.read(child1);
+        int[] offspring2 = PermutationGenes.read(child2);
+        TopologicalOrders.repair(offspring1, instance);
+        TopologicalOrders.repair(offspring2, instance);
+
+        JMetalRandom random = JMetalRandom.getInstance();
+        if (offspring1.length > 1 && random.nextDouble() < crossoverProbability) {
+            int n = offspring1.length;
+            boolean[] mask = new boolean[n];
+            for (int i = 0; i < n; i++) {
+                mask[i] = random.nextDouble() < 0.5;
+            }
+
+            int[] parent1 = offspring1.clone();
+            int[] parent2 = offspring2.clone();
+            ppx(parent1, parent2, mask, false, offspring1);
+            ppx(parent1, parent2, mask, true, offspring2);
+        }
+
+        PermutationGenes.write(child1, offspring1);
+        PermutationGenes.write(child2, offspring2);
+
+        List<PermutationSolution<Integer>> offspring = new ArrayList<>(2);
+        offspring.add(child1);
+        offspring.add(child2);
+        return offspring;
+    }
+
+    // el hijo complementario usa la mascara invertida
+    private static void ppx(int[] parent1, int[] parent2, boolean[] mask, boolean invert, int[] child) {
+        int n = parent1.length;
+        boolean[] used = new boolean[n];
+        int next1 = 0;
+        int next2 = 0;
+
+        for (int i = 0; i < n; i++) {
+            int gene;
+            if (mask[i] != invert) {
+                while (used[parent1[next1]]) {
+                    next1++;
+                }
+                gene = parent1[next1];
+            } else {
+                while (used[parent2[next2]]) {
+                    next2++;
+                }
+                gene = parent2[next2];
+            }
+            used[gene] = true;
+            child[i] = gene;
+        }
+    }
+}
@@ -0,0 +1,79 @@
+package com.example.ae.operator;
+
+import org.uma.jmetal.operator.mutation.MutationOperator;
+import org.uma.jmetal.solution.permutationsolution.PermutationSolution;
+import org.uma.jmetal.util.pseudorandom.JMetalRandom;
+
+import com.example.ae.model.CompiledTasInstance;
+
+// mutacion por desplazamiento: mueve una tarea a otra posicion dentro de su ventana factible (despues de
+// su ultimo predecesor y antes de su primer sucesor), asi la permutacion sigue en orden topologico.
+// Si la solucion no estaba en orden topologico se repara antes (sin cambiar su evaluacion)
+public class TasPrecedenceShiftMutation implements MutationOperator<PermutationSolution<Integer>> {
+
+    private final double mutationProbability;
+    private final CompiledTasInstance instance;
+
+    public TasPrecedenceShiftMutation(double mutationProbability, CompiledTasInstance instance) {
+        if (mutationProbability < 0 || mutationProbability > 1) {
+            throw new IllegalArgumentException("Mutation probability must be in [0, 1]: " + mutationProbability);
+        }
+        this.mutationProbability = mutationProbability;
+        this.instance = instance;
+    }
+
+    @Override
+    public double mutationProbability() {
+        return mutationProbability;
+    }
+
+    @Override
+    public PermutationSolution<Integer> execute(PermutationSolution<Integer> solution) {
+        JMetalRandom random = JMetalRandom.getInstance();
+        int[] genes = PermutationGenes.read(solution);
+        int n = genes.length;
+
+        boolean changed = TopologicalOrders.repair(genes, instance);
+
+        if (n > 1 && random.nextDouble() < mutationProbability) {
+            int from = random.nextInt(0, n - 1);
+            int task = genes[from];
+            int[] position = TopologicalOrders.positions(genes);
+
+            // ventana [lo, hi] donde puede quedar la tarea
+            int lo = 0;
+            for (int i = instance.predecessorsStart(task); i < instance.predecessorsEnd(task); i++) {
+                lo = Math.max(lo, position[instance.predecessor(i)] + 1);
+            }
+            int hi = n - 1;
+            for (int i = instance.successorsStart(task); i < instance.successorsEnd(task); i++) {
+                hi = Math.min(hi, position[instance.successor(i)] - 1);
+            }
+
+            if (hi > lo) {
+                int to = random.nextInt(lo, hi - 1);
+                if (to >= from) {
+                    to++;
+                }
+                shift(genes, from, to);
+                changed = true;
+            }
+        }
+
+        if (changed) {
+            PermutationGenes.write(solution, genes);
+        }
+        return solution;
+    }
+
+    // mueve genes[from] a la posicion 'to' corriendo un lugar los genes intermedios
+    private static void shift(int[] genes, int from, int to) {
+        int gene = genes[from];
+        if (from < to) {
+            System.arraycopy(genes, from + 1, genes, from, to - from);
+        } else {
+            System.arraycopy(genes, to, genes, to + 1, from - to);
+        }
+        genes[to] = gene;
+    }
+}
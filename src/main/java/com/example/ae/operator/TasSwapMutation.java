@@ -0,0 +1,45 @@
+package com.example.ae.operator;
+
+import org.uma.jmetal.operator.mutation.MutationOperator;
+import org.uma.jmetal.solution.permutationsolution.PermutationSolution;
+import org.uma.jmetal.util.pseudorandom.JMetalRandom;
+
+// mutacion por intercambio de dos posiciones (como PermutationSwapMutation de jMetal) sobre int[]
+public class TasSwapMutation implements MutationOperator<PermutationSolution<Integer>> {
+
+    private final double mutationProbability;
+
+    public TasSwapMutation(double mutationProbability) {
+        if (mutationProbability < 0 || mutationProbability > 1) {
+            throw new IllegalArgumentException("Mutation probability must be in [0, 1]: " + mutationProbability);
+        }
+        this.mutationProbability = mutationProbability;
+    }
+
+    @Override
+    public double mutationProbability() {
+        return mutationProbability;
+    }
+
+    @Override
+    public PermutationSolution<Integer> execute(PermutationSolution<Integer> solution) {
+        JMetalRandom random = JMetalRandom.getInstance();
+        int[] genes = PermutationGenes.read(solution);
+        int n = genes.length;
+
+        if (n > 1 && random.nextDouble() < mutationProbability) {
+            int pos1 = random.nextInt(0, n - 1);
+            int pos2 = random.nextInt(0, n - 1);
+            while (pos1 == pos2) {
+                pos2 = random.nextInt(0, n - 1);
+            }
+
+            int tmp = genes[pos1];
+            genes[pos1] = genes[pos2];
+            genes[pos2] = tmp;
+
+            PermutationGenes.write(solution, genes);
+        }
+        return solution;
+    }
+}
@@ -0,0 +1,44 @@
+package com.example.ae.operator;
+
+import com.example.ae.decoder.TasDecoder;
+import com.example.ae.model.CompiledTasInstance;
+
+// utilidades sobre permutaciones en orden topologico (todo predecesor antes que sus sucesores).
+// Con ese orden el decodificador planifica la permutacion en una sola pasada
+public final class TopologicalOrders {
+
+    private TopologicalOrders() {
+    }
+
+    public static boolean isTopological(int[] pi, CompiledTasInstance ci) {
+        int[] position = positions(pi);
+        for (int t = 0; t < pi.length; t++) {
+            for (int i = ci.predecessorsStart(t); i < ci.predecessorsEnd(t); i++) {
+                if (position[ci.predecessor(i)] > position[t]) {
+                    return false;
+                }
+            }
+        }
+        return true;
+    }
+
+    // reordena pi en el orden en que el decodificador lo planificaria; ese orden es topologico y produce
+    // exactamente el mismo schedule, asi que la reparacion no cambia la evaluacion. Devuelve si cambio algo
+    public static boolean repair(int[] pi, CompiledTasInstance ci) {
+        if (isTopological(pi, ci)) {
+            return false;
+        }
+        int[] order = new int[pi.length];
+        TasDecoder.schedulingOrder(pi, ci, order);
+        System.arraycopy(order, 0, pi, 0, pi.length);
+        return true;
+    }
+
+    static int[] positions(int[] pi) {
+        int[] position = new int[pi.length];
+        for (int pos = 0; pos < pi.length; pos++) {
+            position[pi[pos]] = pos;
+        }
+        return position;
+    }
+}
@@ -0,0 +1,102 @@
+package com.example.ae.problem;
+
+import java.util.Arrays;
+import java.util.LinkedHashMap;
+import java.util.Map;
+
+// cache LRU acotada de objetivos por permutacion. La clave es un hash de 64 bits de la permutacion y
+// cada entrada guarda la permutacion completa para verificar colisiones. Es segura para varios hilos
+public class EvaluationCache {
+
+    private final int capacity;
+    private final Map<Long, Entry> entries;
+
+    private long hits = 0;
+    private long misses = 0;
+    private long collisions = 0;
+
+    private static class Entry {
+        final int[] permutation;
+        final double[] objectives;
+
+        Entry(int[] permutation, double[] objectives) {
+            this.permutation = permutation;
+            this.objectives = objectives;
+        }
+    }
+
+    public EvaluationCache(int capacity) {
+        if (capacity <= 0) {
+            throw new IllegalArgumentException("Cache capacity must be positive: " + capacity);
+        }
+        this.capacity = capacity;
+        this.entries = new LinkedHashMap<Long, Entry>(16, 0.75f, true) {
+            @Override
+            protected boolean removeEldestEntry(Map.Entry<Long, Entry> eldest) {
+                return size() > EvaluationCache.this.capacity;
+            }
+        };
+    }
+
+    // si la permutacion esta en la cache copia sus objetivos en 'objectives' y devuelve true
+    public synchronized boolean lookup(int[] permutation, double[] objectives) {
+        Entry entry = entries.get(hash(permutation));
+        if (entry == null) {
+            misses++;
+            return false;
+        }
+        if (!Arrays.equals(entry.permutation, permutation)) {
+            collisions++;
+            misses++;
+            return false;
+        }
+        hits++;
+        System.arraycopy(entry.objectives, 0, objectives, 0, entry.objectives.length);
+        return true;
+    }
+
+    // guarda copias de la permutacion y los objetivos (una colision reemplaza la entrada anterior)
+    public synchronized void store(int[] permutation, double[] objectives) {
+        entries.put(hash(permutation), new Entry(permutation.clone(), objectives.clone()));
+    }
+
+    public synchronized long hits() {
+        return hits;
+    }
+
+    public synchronized long misses() {
+        return misses;
+    }
+
+    public synchronized long collisions() {
+        return collisions;
+    }
+
+    public synchronized int size() {
+        return entries.size();
+    }
+
+    public synchronized double hitRate() {
+        long total = hits + misses;
+        return (total == 0) ? 0.0 : (double) hits / total;
+    }
+
+    public synchronized void clear() {
+        entries.clear();
+        hits = 0;
+        misses = 0;
+        collisions = 0;
+    }
+
+    // hash de 64 bits de la permutacion (mezcla tipo splitmix64 por elemento)
+    static long hash(int[] permutation) {
+        long h = 0x9E3779B97F4A7C15L ^ permutation.length;
+        for (int v : permutation) {
+            h += (v + 1) * 0x9E3779B97F4A7C15L;
+            h = (h ^ (h >>> 30)) * 0xBF58476D1CE4E5B9L;
+            h = (h ^ (h >>> 27)) * 0x94D049BB133111EBL;
+            h ^= h >>> 31;
+        }
+        return h;
+    }
+}
@@ -0,0 +1,121 @@
+package com.example.ae.problem;
+
+import java.util.AbstractList;
+import java.util.Arrays;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+
+import org.uma.jmetal.solution.permutationsolution.PermutationSolution;
+import org.uma.jmetal.util.pseudorandom.JMetalRandom;
+
+// solucion de permutacion guardada en un int[] (sin boxing). variables() es una vista sobre el mismo
+// array para que los operadores estandar de jMetal sigan funcionando; permutation() da acceso directo
+public class TasPermutationSolution implements PermutationSolution<Integer> {
+
+    private final int[] permutation;
+    private final double[] objectives;
+    private final double[] constraints;
+    private final Map<Object, Object> attributes;
+    private final List<Integer> variablesView = new VariablesView();
+
+    // permutacion aleatoria de 0..length-1
+    public TasPermutationSolution(int length, int numberOfObjectives, int numberOfConstraints) {
+        this(identity(length), numberOfObjectives, numberOfConstraints);
+        shuffle(permutation);
+    }
+
+    // usa el array recibido tal cual (no lo copia)
+    public TasPermutationSolution(int[] permutation, int numberOfObjectives, int numberOfConstraints) {
+        this.permutation = permutation;
+        this.objectives = new double[numberOfObjectives];
+        this.constraints = new double[numberOfConstraints];
+        this.attributes = new HashMap<>();
+    }
+
+    // constructor de copia
+    public TasPermutationSolution(TasPermutationSolution solution) {
+        this.permutation = solution.permutation.clone();
+        this.objectives = solution.objectives.clone();
+        this.constraints = solution.constraints.clone();
+        this.attributes = new HashMap<>(solution.attributes);
+    }
+
+    // acceso directo a los genes, sin copia
+    public int[] permutation() {
+        return permutation;
+    }
+
+    public int getLength() {
+        return permutation.length;
+    }
+
+    @Override
+    public List<Integer> variables() {
+        return variablesView;
+    }
+
+    @Override
+    public double[] objectives() {
+        return objectives;
+    }
+
+    @Override
+    public double[] constraints() {
+        return constraints;
+    }
+
+    @Override
+    public Map<Object, Object> attributes() {
+        return attributes;
+    }
+
+    @Override
+    public TasPermutationSolution copy() {
+        return new TasPermutationSolution(this);
+    }
+
+    @Override
+    public String toString() {
+        return "Variables: " + Arrays.toString(permutation) + " Objectives: " + Arrays.toString(objectives);
+    }
+
+    private static int[] identity(int length) {
+        int[] pi = new int[length];
+        for (int i = 0; i < length; i++) {
+            pi[i] = i;
+        }
+        return pi;
+    }
+
+    // Fisher-Yates con el generador de jMetal (asi la semilla de JMetalRandom controla la poblacion inicial)
+    private static void shuffle(int[] pi) {
+        JMetalRandom random = JMetalRandom.getInstance();
+        for (int i = pi.length - 1; i > 0; i--) {
+            int j = random.nextInt(0, i);
+            int tmp = pi[i];
+            pi[i] = pi[j];
+            pi[j] = tmp;
+        }
+    }
+
+    // vista List<Integer> sobre el int[]
+    private class VariablesView extends AbstractList<Integer> {
+        @Override
+        public Integer get(int index) {
+            return permutation[index];
+        }
+
+        @Override
+        public Integer set(int index, Integer value) {
+            int previous = permutation[index];
+            permutation[index] = value;
+            return previous;
+        }
+
+        @Override
+        public int size() {
+            return permutation.length;
+        }
+    }
+}
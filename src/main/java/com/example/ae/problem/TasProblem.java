@@ -1,19 +1,89 @@
 package com.example.ae.problem;
 
+import com.example.ae.model.CompiledTasInstance;
 import com.example.ae.model.TasInstance;
+import com.example.ae.decoder.DominanceBound;
+import com.example.ae.decoder.PrefixCheckpointDecoder;
 import com.example.ae.decoder.TasDecoder;
-import com.example.ae.decoder.TasSchedule;
+import java.util.concurrent.atomic.LongAdder;
+
 import org.uma.jmetal.problem.Problem;
+import org.uma.jmetal.solution.Solution;
 import org.uma.jmetal.solution.permutationsolution.PermutationSolution;
-import org.uma.jmetal.solution.permutationsolution.impl.IntegerPermutationSolution;
-
+import org.uma.jmetal.util.pseudorandom.JMetalRandom;
 
+// evaluate es seguro para varios hilos: la instancia compilada es inmutable y el estado mutable
+// (workspace del decodificador, buffers, checkpoints) es por hilo; la cache esta sincronizada
 public class TasProblem implements Problem<PermutationSolution<Integer>> {
 
-    private TasInstance instance;
+    private final TasInstance instance;
+    private final CompiledTasInstance compiled;  // version indexada que usa el decodificador
+    private final ThreadLocal<int[]> permutationBuffer = ThreadLocal.withInitial(() -> new int[0]);
+    private PrefixCheckpointDecoder prefixDecoder;  // null = decodificar siempre desde cero
+
+    private EvaluationCache cache;                  // null = sin cache
+    private boolean canonicalCacheKeys = false;     // usar el orden de planificacion como clave
+    private final ThreadLocal<int[]> orderBuffer = ThreadLocal.withInitial(() -> new int[0]);
+
+    private boolean topologicalInitialization = false;  // soluciones iniciales en orden topologico
+
+    // corte temprano del decode: atributo que marca las soluciones cortadas y valor de penalizacion que
+    // reciben sus objetivos (peor que cualquier schedule real, asi toda solucion completa las domina)
+    public static final String EARLY_ABORT_ATTRIBUTE = "TasEarlyAbort";
+    public static final double EARLY_ABORT_PENALTY = Double.MAX_VALUE;
+    private volatile DominanceBound dominanceBound;      // null = decodificar siempre completo
+    private final LongAdder earlyAborts = new LongAdder();
 
     public TasProblem(TasInstance instance) {
         this.instance = instance;
+        this.compiled = new CompiledTasInstance(instance);
+    }
+
+    // activa la decodificacion con checkpoints de prefijo: un checkpoint cada 'interval' posiciones,
+    // como mucho 'capacity' checkpoints guardados por hilo
+    public void enablePrefixCheckpointing(int interval, int capacity) {
+        this.prefixDecoder = new PrefixCheckpointDecoder(compiled, interval, capacity);
+    }
+
+    public PrefixCheckpointDecoder getPrefixDecoder() {
+        return prefixDecoder;
+    }
+
+    // activa una cache LRU de objetivos. Con canonicalize = true la clave es el orden en que el decodificador
+    // planifica las tareas, asi permutaciones distintas que producen el mismo schedule comparten entrada
+    public void enableEvaluationCache(int capacity, boolean canonicalize) {
+        this.cache = new EvaluationCache(capacity);
+        this.canonicalCacheKeys = canonicalize;
+    }
+
+    public EvaluationCache getEvaluationCache() {
+        return cache;
+    }
+
+    // con true, createSolution genera ordenes topologicos aleatorios en lugar de permutaciones uniformes
+    public void setTopologicalInitialization(boolean topologicalInitialization) {
+        this.topologicalInitialization = topologicalInitialization;
+    }
+
+    // cota para cortar el decode de las soluciones que ya quedan dominadas (p. ej. el frente actual).
+    // Se puede reemplazar mientras otros hilos evaluan
+    public void setDominanceBound(DominanceBound dominanceBound) {
+        this.dominanceBound = dominanceBound;
+    }
+
+    // evaluaciones cortadas por la cota
+    public long earlyAborts() {
+        return earlyAborts.sum();
+    }
+
+    // true si el decode se corto porque la cota vigente ya dominaba a la solucion; sus objetivos son la
+    // penalizacion y no deben ir a un archivo ni al frente final
+    public static boolean isEarlyAborted(Solution<?> solution) {
+        return Boolean.TRUE.equals(solution.attributes().get(EARLY_ABORT_ATTRIBUTE));
+    }
+
+    public CompiledTasInstance getCompiledInstance() {
+        return compiled;
     }
 
     @Override
@@ -32,35 +102,130 @@ public class TasProblem implements Problem<PermutationSolution<Integer>> {
 
     @Override
     public PermutationSolution<Integer> evaluate(PermutationSolution<Integer> solution) {
-        // extraer permutacion π
-        int n = solution.variables().size();
-        int[] pi = new int[n];
+        int[] pi = permutationOf(solution);
 
-        for (int i = 0; i < n; i++) {
-            pi[i] = solution.variables().get(i);
+        double[] objectives = solution.objectives();
+
+        // los hijos heredan los atributos del padre: la marca se limpia en cada evaluacion
+        solution.attributes().remove(EARLY_ABORT_ATTRIBUTE);
+
+        int[] key = null;
+        if (cache != null) {
+            key = canonicalCacheKeys ? schedulingOrder(pi) : pi;
+            if (cache.lookup(key, objectives)) {
+                return solution;
+            }
         }
 
-        // decodificar con heuristica TAS
-        TasSchedule schedule = TasDecoder.decode(pi, instance);
+        // decodificar con heuristica TAS, solo objetivos: F1 = makespan, F2 = insatisfaccion
+        DominanceBound bound = dominanceBound;
+        boolean complete;
+        if (prefixDecoder != null) {
+            complete = prefixDecoder.evaluateObjectives(pi, objectives, bound);
+        } else if (bound != null) {
+            complete = TasDecoder.evaluateObjectives(pi, compiled, objectives, bound);
+        } else {
+            TasDecoder.evaluateObjectives(pi, compiled, objectives);
+            complete = true;
+        }
 
-        double makespan = schedule.getMakespan();              // F1
-        double dissatisfaction = schedule.getDissatisfaction(); // F2
+        // decode cortado: los objetivos parciales son una cota inferior y podrian ganarle a soluciones reales en
+        // el ranking, los torneos y el reemplazo; se pisan con la penalizacion (finita, asi el crowding de un
+        // frente de penalizadas no da NaN) y no se cachean
+        if (!complete) {
+            objectives[0] = EARLY_ABORT_PENALTY;
+            objectives[1] = EARLY_ABORT_PENALTY;
+            solution.attributes().put(EARLY_ABORT_ATTRIBUTE, Boolean.TRUE);
+            earlyAborts.increment();
+            return solution;
+        }
 
-        solution.objectives()[0] = makespan;
-        solution.objectives()[1] = dissatisfaction;
+        if (cache != null) {
+            cache.store(key, objectives);
+        }
 
         return solution;
     }
 
+    // permutacion π: acceso directo si la solucion es TasPermutationSolution, si no copia en un buffer por hilo
+    private int[] permutationOf(PermutationSolution<Integer> solution) {
+        if (solution instanceof TasPermutationSolution) {
+            return ((TasPermutationSolution) solution).permutation();
+        }
+
+        int n = solution.variables().size();
+        int[] pi = permutationBuffer.get();
+        if (pi.length != n) {
+            pi = new int[n];
+            permutationBuffer.set(pi);
+        }
+        for (int i = 0; i < n; i++) {
+            pi[i] = solution.variables().get(i);
+        }
+        return pi;
+    }
+
+    private int[] schedulingOrder(int[] pi) {
+        int[] order = orderBuffer.get();
+        if (order.length != pi.length) {
+            order = new int[pi.length];
+            orderBuffer.set(order);
+        }
+        TasDecoder.schedulingOrder(pi, compiled, order);
+        return order;
+    }
+
     @Override
     public PermutationSolution<Integer> createSolution() {
         int nTasks = instance.numberOfTasks();
 
-        return new IntegerPermutationSolution(
+        if (topologicalInitialization) {
+            return new TasPermutationSolution(
+                    randomTopologicalOrder(),
+                    numberOfObjectives(),
+                    numberOfConstraints()
+            );
+        }
+
+        return new TasPermutationSolution(
                 nTasks,
                 numberOfObjectives(),
                 numberOfConstraints()
         );
     }
 
-}
\ No newline at end of file
+    // Kahn con eleccion uniforme entre las tareas listas
+    private int[] randomTopologicalOrder() {
+        JMetalRandom random = JMetalRandom.getInstance();
+        int n = compiled.numberOfTasks();
+        int[] pendingPreds = new int[n];
+        int[] ready = new int[n];
+        int readyCount = 0;
+
+        for (int t = 0; t < n; t++) {
+            pendingPreds[t] = compiled.predecessorCount(t);
+            if (pendingPreds[t] == 0) {
+                ready[readyCount++] = t;
+            }
+        }
+
+        int[] order = new int[n];
+        for (int count = 0; count < n; count++) {
+            if (readyCount == 0) {
+                throw new IllegalStateException("Precedence graph has a cycle");
+            }
+            int pick = random.nextInt(0, readyCount - 1);
+            int task = ready[pick];
+            ready[pick] = ready[--readyCount];
+            order[count] = task;
+
+            for (int i = compiled.successorsStart(task); i < compiled.successorsEnd(task); i++) {
+                int succ = compiled.successor(i);
+                if (--pendingPreds[succ] == 0) {
+                    ready[readyCount++] = succ;
+                }
+            }
+        }
+        return order;
+    }
+}
@@ -0,0 +1,58 @@
+package com.example.ae.decoder;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+
+import java.lang.management.ManagementFactory;
+import java.nio.file.Paths;
+
+import org.junit.jupiter.api.Test;
+
+import com.example.ae.io.TasInstanceLoader;
+import com.example.ae.model.CompiledTasInstance;
+import com.example.ae.problem.TasPermutationSolution;
+import com.example.ae.problem.TasProblem;
+
+// en regimen la evaluacion de objetivos reutiliza el workspace del hilo y no reserva memoria
+class TasDecoderAllocationTest {
+
+    private static final int WARMUP = 20000;
+    private static final int EVALUATIONS = 10000;
+
+    @Test
+    void evaluateObjectivesDoesNotAllocateAfterWarmup() throws Exception {
+        for (String name : new String[]{"instancia_pequena", "instancia_mediana", "instancia_grande"}) {
+            // uniformes (configuracion por defecto, decode en varias pasadas con nextPass) y topologicas (una pasada)
+            for (boolean topological : new boolean[]{false, true}) {
+                assertNoAllocation(name, topological);
+            }
+        }
+    }
+
+    private static void assertNoAllocation(String name, boolean topological) throws Exception {
+        TasProblem problem = new TasProblem(TasInstanceLoader.fromJson(Paths.get("instances", name + ".json")));
+        problem.setTopologicalInitialization(topological);
+        CompiledTasInstance ci = problem.getCompiledInstance();
+
+        int[][] permutations = new int[64][];
+        for (int i = 0; i < permutations.length; i++) {
+            permutations[i] = ((TasPermutationSolution) problem.createSolution()).permutation();
+        }
+        double[] objectives = new double[2];
+
+        for (int i = 0; i < WARMUP; i++) {
+            TasDecoder.evaluateObjectives(permutations[i % permutations.length], ci, objectives);
+        }
+
+        com.sun.management.ThreadMXBean threads =
+                (com.sun.management.ThreadMXBean) ManagementFactory.getThreadMXBean();
+        long thread = Thread.currentThread().getId();
+        long before = threads.getThreadAllocatedBytes(thread);
+        for (int i = 0; i < EVALUATIONS; i++) {
+            TasDecoder.evaluateObjectives(permutations[i % permutations.length], ci, objectives);
+        }
+        long allocated = threads.getThreadAllocatedBytes(thread) - before;
+
+        String permutationKind = topological ? "topological" : "uniform";
+        assertEquals(0, allocated / EVALUATIONS, name + " (" + permutationKind + "): bytes allocated per evaluation");
+    }
+}
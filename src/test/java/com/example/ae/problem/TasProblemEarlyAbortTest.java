@@ -0,0 +1,106 @@
+package com.example.ae.problem;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertFalse;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+import java.nio.file.Paths;
+import java.util.ArrayList;
+import java.util.List;
+
+import org.junit.jupiter.api.Test;
+import org.uma.jmetal.solution.permutationsolution.PermutationSolution;
+
+import com.example.ae.algorithm.AnytimeAlgorithm;
+import com.example.ae.algorithm.TasNSGAIIBuilder;
+import com.example.ae.decoder.DominanceBound;
+import com.example.ae.io.TasInstanceLoader;
+import com.example.ae.operator.TasPMXCrossover;
+import com.example.ae.operator.TasSwapMutation;
+
+// las soluciones con decode cortado reciben la penalizacion y nunca llegan al frente que se reporta
+class TasProblemEarlyAbortTest {
+
+    private static final String INSTANCE = "instancia_mediana";
+
+    @Test
+    void abortedSolutionGetsPenaltyObjectives() throws Exception {
+        TasProblem problem = new TasProblem(TasInstanceLoader.fromJson(Paths.get("instances", INSTANCE + ".json")));
+
+        // una cota inalcanzable (0, 0) domina a todo, asi cualquier decode se corta
+        problem.setDominanceBound(DominanceBound.of(List.of(new double[]{0.0, 0.0})));
+        PermutationSolution<Integer> solution = problem.evaluate(problem.createSolution());
+
+        assertTrue(TasProblem.isEarlyAborted(solution), "decode should be aborted");
+        assertEquals(TasProblem.EARLY_ABORT_PENALTY, solution.objectives()[0], 0.0, "makespan penalty");
+        assertEquals(TasProblem.EARLY_ABORT_PENALTY, solution.objectives()[1], 0.0, "dissatisfaction penalty");
+        assertEquals(1, problem.earlyAborts(), "early aborts");
+
+        // sin cota la misma solucion se vuelve a evaluar completa y pierde la marca
+        problem.setDominanceBound(null);
+        problem.evaluate(solution);
+        assertFalse(TasProblem.isEarlyAborted(solution), "full decode should clear the mark");
+        assertTrue(solution.objectives()[0] < TasProblem.EARLY_ABORT_PENALTY, "real makespan");
+    }
+
+    @Test
+    void everyCompleteSolutionDominatesAbortedOnes() throws Exception {
+        TasProblem problem = new TasProblem(TasInstanceLoader.fromJson(Paths.get("instances", INSTANCE + ".json")));
+
+        // cota: las mejores de un primer lote evaluado completo
+        List<double[]> points = new ArrayList<>();
+        for (int i = 0; i < 50; i++) {
+            points.add(problem.evaluate(problem.createSolution()).objectives().clone());
+        }
+        problem.setDominanceBound(DominanceBound.of(points));
+
+        // con los objetivos parciales (cota inferior) una cortada podria quedar mejor que alguna completa
+        List<PermutationSolution<Integer>> complete = new ArrayList<>();
+        List<PermutationSolution<Integer>> aborted = new ArrayList<>();
+        for (int i = 0; i < 500; i++) {
+            PermutationSolution<Integer> solution = problem.evaluate(problem.createSolution());
+            (TasProblem.isEarlyAborted(solution) ? aborted : complete).add(solution);
+        }
+
+        assertFalse(complete.isEmpty(), "complete decodes");
+        assertFalse(aborted.isEmpty(), "aborted decodes");
+        for (PermutationSolution<Integer> a : aborted) {
+            for (PermutationSolution<Integer> c : complete) {
+                assertTrue(c.objectives()[0] < a.objectives()[0] && c.objectives()[1] < a.objectives()[1],
+                        "complete solution should dominate an aborted one");
+            }
+        }
+    }
+
+    @Test
+    void abortedSolutionNeverEntersReportedFront() throws Exception {
+        TasProblem problem = new TasProblem(TasInstanceLoader.fromJson(Paths.get("instances", INSTANCE + ".json")));
+        int[] abortedInFront = new int[1];
+
+        AnytimeAlgorithm<PermutationSolution<Integer>> algorithm = new TasNSGAIIBuilder<>(
+                problem, new TasPMXCrossover(1.0), new TasSwapMutation(0.1), 40)
+                .setMaxEvaluations(4000)
+                .setAsynchronous(2)
+                .addFrontListener((front, evaluations) -> {
+                    List<double[]> points = new ArrayList<>(front.size());
+                    for (PermutationSolution<Integer> sol : front) {
+                        if (TasProblem.isEarlyAborted(sol)) {
+                            abortedInFront[0]++;
+                        }
+                        points.add(sol.objectives().clone());
+                    }
+                    problem.setDominanceBound(DominanceBound.of(points));
+                })
+                .setSeed(1)
+                .build();
+        algorithm.run();
+        List<PermutationSolution<Integer>> result = algorithm.result();
+
+        assertTrue(problem.earlyAborts() > 0, "the bound should abort some decodes");
+        assertFalse(result.isEmpty(), "result front");
+        assertEquals(0, abortedInFront[0], "aborted solutions in published fronts");
+        for (PermutationSolution<Integer> sol : result) {
+            assertFalse(TasProblem.isEarlyAborted(sol), "aborted solution in the result");
+        }
+    }
+}